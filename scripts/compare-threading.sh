@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Compare the default platform-thread Tomcat pool with the "virtual" profile.
+# Requires JDK 21 on PATH. Usage: scripts/compare-threading.sh [concurrency] [requests]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-400}
+REQUESTS=${2:-40000}
+PORT=18081
+JAR=target/todo-list-0.0.1-SNAPSHOT.jar
+
+mvn -q -B -Pjava21 -DskipTests package
+
+run() {
+  local mode=$1; shift
+  java -jar "$JAR" --server.port=$PORT --spring.jpa.show-sql=false "$@" >"target/threading-$mode.log" 2>&1 &
+  local pid=$!
+  until curl -sf "localhost:$PORT/api/hello" >/dev/null; do sleep 0.5; done
+  for i in $(seq 200); do
+    curl -sf -XPOST "localhost:$PORT/api/todos" -H 'Content-Type: application/json' \
+      -d "{\"title\":\"load $i\",\"completed\":\"N\"}" >/dev/null
+  done
+  echo "== $mode"
+  java scripts/LoadTest.java "http://localhost:$PORT/api/todos?size=50" "$CONCURRENCY" "$REQUESTS"
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+}
+
+run platform
+run virtual --spring.profiles.active=virtual
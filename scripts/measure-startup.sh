@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Startup time of the plain jar vs the fast-startup build (pom profile "startup": AOT + AppCDS + spring profile "startup").
+# Reports time-to-ready (ApplicationReadyEvent, "process running for" in the startup log, JVM uptime)
+# and time-to-first-successful-GET (wall clock from launch until GET /api/todos returns 200).
+# Usage: scripts/measure-startup.sh [runs]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=18082
+JAR=target/todo-list-0.0.1-SNAPSHOT.jar
+STARTUP_DIR=target/startup
+
+# the CDS training run starts the application once; its output goes to the build log
+mvn -q -B -Pstartup -DskipTests package >target/startup-build.log 2>&1 || { cat target/startup-build.log; exit 1; }
+
+now_ms() { date +%s%3N; }
+
+# run <mode> <java args...>: one cold start, prints "<ready_ms> <first_get_ms>"
+run() {
+  local mode=$1; shift
+  local log="target/startup-$mode.log"
+  local start pid first_get ready
+  start=$(now_ms)
+  java "$@" --server.port=$PORT >"$log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "localhost:$PORT/api/todos"; do
+    kill -0 "$pid" 2>/dev/null || { echo "$mode exited, see $log" >&2; exit 1; }
+    sleep 0.01
+  done
+  first_get=$(( $(now_ms) - start ))
+  until grep -q "process running for" "$log"; do sleep 0.01; done
+  ready=$(sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log" | awk '{ printf "%d", $1 * 1000 }')
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  echo "$ready $first_get"
+}
+
+# stats <values...>: "min <n> ms  median <n> ms"
+stats() {
+  printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { printf "min %5d ms  median %5d ms", v[1], v[int((NR + 1) / 2)] }'
+}
+
+# measure <mode> <java args...>: RUNS cold starts
+measure() {
+  local mode=$1; shift
+  local ready=() first_get=() result
+  for i in $(seq "$RUNS"); do
+    result=$(run "$mode" "$@")
+    ready+=("${result% *}")
+    first_get+=("${result#* }")
+  done
+  printf '%-8s ready: %s   first GET: %s   (%d runs)\n' "$mode" "$(stats "${ready[@]}")" "$(stats "${first_get[@]}")" "$RUNS"
+}
+
+measure default -jar "$JAR"
+measure startup -XX:SharedArchiveFile="$STARTUP_DIR/application.jsa" -Dspring.aot.enabled=true \
+  -Dspring.profiles.active=startup -jar "$STARTUP_DIR/todo-list-0.0.1-SNAPSHOT.jar"
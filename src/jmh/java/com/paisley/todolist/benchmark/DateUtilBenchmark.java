@@ -0,0 +1,54 @@
+package com.paisley.todolist.benchmark;
+
+import com.paisley.todolist.util.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilBenchmark {
+
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+    private final Date date = new Date(1_741_936_166_000L);
+
+    @Benchmark
+    public String formatServicePattern() {
+        return DateUtil.format(dateTime, DateUtil.DATE_TIME_PATTERN);
+    }
+
+    @Benchmark
+    public String formatOtherPattern() {
+        return DateUtil.format(dateTime, "yyyy/MM/dd HH:mm");
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateUtil.format(date, "yyyy-MM-dd HH:mm:ss");
+    }
+
+    @Benchmark
+    public LocalDateTime parseLocalDateTime() {
+        return DateUtil.parseLocalDateTime("2025-03-14 15:09:26", DateUtil.DATE_TIME_PATTERN);
+    }
+
+    @Benchmark
+    public String convertAd2Roc() throws ParseException {
+        return DateUtil.convertAd2Roc("2025-03-14", "yyyy-MM-dd", "yyy/MM/dd");
+    }
+}
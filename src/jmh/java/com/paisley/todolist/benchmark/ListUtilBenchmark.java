@@ -0,0 +1,58 @@
+package com.paisley.todolist.benchmark;
+
+import com.paisley.todolist.util.ListUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListUtilBenchmark {
+
+    @Param({"1000", "50000"})
+    private int size;
+
+    @Param({"100", "1000"})
+    private int chunk;
+
+    private List<Long> ids;
+    private List<Long> linkedIds;
+
+    @Setup
+    public void setUp() {
+        ids = LongStream.rangeClosed(1, size).boxed().toList();
+        linkedIds = new LinkedList<>(ids);
+    }
+
+    @Benchmark
+    public List<List<Long>> limit() {
+        return ListUtil.limit(ids, chunk);
+    }
+
+    @Benchmark
+    public List<List<Long>> partition() {
+        return ListUtil.partition(ids, chunk);
+    }
+
+    @Benchmark
+    public List<List<Long>> partitionLinked() {
+        return ListUtil.partition(linkedIds, chunk);
+    }
+}
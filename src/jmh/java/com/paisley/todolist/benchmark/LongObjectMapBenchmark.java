@@ -0,0 +1,131 @@
+package com.paisley.todolist.benchmark;
+
+import com.paisley.todolist.util.LongObjectMap;
+import com.paisley.todolist.util.LongSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LongObjectMap / LongSet 與 HashMap&lt;Long, V&gt; / HashSet&lt;Long&gt; 比較。
+ * build* 為預先配置大小後放入 size 筆，gc profiler 的 gc.alloc.rate.norm 約等於整個結構的記憶體用量
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LongObjectMapBenchmark {
+
+    private static final int LOOKUPS = 10_000;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private long[] ids;
+    private long[] lookups;
+    private final Object value = new Object();
+    private HashMap<Long, Object> hashMap;
+    private LongObjectMap<Object> longObjectMap;
+
+    @Setup
+    public void setUp() {
+        // 連號 id(同資料庫序號)，查詢一半命中一半未命中
+        ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1L;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        lookups = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextLong(1, size * 2L);
+        }
+        hashMap = buildHashMap();
+        longObjectMap = buildLongObjectMap();
+    }
+
+    @Benchmark
+    public HashMap<Long, Object> buildHashMap() {
+        HashMap<Long, Object> map = new HashMap<>((int) (size / 0.75f) + 1);
+        for (long id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public LongObjectMap<Object> buildLongObjectMap() {
+        LongObjectMap<Object> map = new LongObjectMap<>(size);
+        for (long id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Set<Long> buildHashSet() {
+        Set<Long> set = new HashSet<>((int) (size / 0.75f) + 1);
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public LongSet buildLongSet() {
+        LongSet set = new LongSet(size);
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public void getHashMap(Blackhole blackhole) {
+        Map<Long, Object> map = hashMap;
+        for (long id : lookups) {
+            blackhole.consume(map.get(id));
+        }
+    }
+
+    @Benchmark
+    public void getLongObjectMap(Blackhole blackhole) {
+        LongObjectMap<Object> map = longObjectMap;
+        for (long id : lookups) {
+            blackhole.consume(map.get(id));
+        }
+    }
+
+    @Benchmark
+    public int putRemoveHashMap() {
+        for (long id : lookups) {
+            if (hashMap.remove(id) != null) hashMap.put(id, value);
+        }
+        return hashMap.size();
+    }
+
+    @Benchmark
+    public int putRemoveLongObjectMap() {
+        for (long id : lookups) {
+            if (longObjectMap.remove(id) != null) longObjectMap.put(id, value);
+        }
+        return longObjectMap.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.paisley.todolist.benchmark;
+
+import com.paisley.todolist.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilBenchmark {
+
+    private final String email = "todo.owner@example.com.tw";
+    private final String csv = "alpha, beta ,gamma,delta , epsilon,zeta,eta,theta";
+    private final String snake = "TODO_UPDATE_DATE_TIME";
+    private final String camel = "todoUpdateDateTime";
+
+    @Benchmark
+    public boolean matches() {
+        return StringUtil.matches(email, "^[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+$");
+    }
+
+    @Benchmark
+    public List<String> transToListComma() {
+        return StringUtil.transToList(csv, ",");
+    }
+
+    @Benchmark
+    public List<String> transToListRegex() {
+        return StringUtil.transToList(csv, "\\s*,\\s*");
+    }
+
+    @Benchmark
+    public void forEachTokenComma(Blackhole blackhole) {
+        StringUtil.forEachToken(csv, ",", blackhole::consume);
+    }
+
+    @Benchmark
+    public String snakeToUpperCamel() {
+        return StringUtil.snakeToUpperCamel(snake);
+    }
+
+    @Benchmark
+    public String snakeToLowerCamel() {
+        return StringUtil.snakeToLowerCamel(snake);
+    }
+
+    @Benchmark
+    public String camelToUpperSnake() {
+        return StringUtil.camelToUpperSnake(camel);
+    }
+
+    @Benchmark
+    public String camelToLowerSnake() {
+        return StringUtil.camelToLowerSnake(camel);
+    }
+}
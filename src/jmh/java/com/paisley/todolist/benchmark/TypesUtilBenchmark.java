@@ -0,0 +1,71 @@
+package com.paisley.todolist.benchmark;
+
+import com.paisley.todolist.util.TypesUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypesUtilBenchmark {
+
+    private final String integerStr = "1234567";
+    private final String decimalStr = "-12345.678";
+    private final String scientificStr = "1.5E3";
+    private final String invalidStr = "12a45";
+    private final Long longValue = 9_876_543_210L;
+    private final BigDecimal bigDecimal = new BigDecimal("1E+5");
+
+    @Benchmark
+    public String parseStrInteger() {
+        return TypesUtil.parseStr(integerStr);
+    }
+
+    @Benchmark
+    public String parseStrScientific() {
+        return TypesUtil.parseStr(scientificStr);
+    }
+
+    @Benchmark
+    public String parseStrBigDecimal() {
+        return TypesUtil.parseStr(bigDecimal);
+    }
+
+    @Benchmark
+    public BigDecimal parseDecimal() {
+        return TypesUtil.parseDecimal(decimalStr);
+    }
+
+    @Benchmark
+    public BigDecimal parseDecimalInvalid() {
+        return TypesUtil.parseDecimal(invalidStr);
+    }
+
+    @Benchmark
+    public Integer parseInteger() {
+        return TypesUtil.parseInteger(integerStr);
+    }
+
+    @Benchmark
+    public Integer parseNumberStringToInteger() {
+        return TypesUtil.parseNumber(integerStr, 0, Integer.class);
+    }
+
+    @Benchmark
+    public Double parseNumberLongToDouble() {
+        return TypesUtil.parseNumber(longValue, 0d, Double.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.domain.TodoUpdateResponse;
+import com.paisley.todolist.web.todo.repository.TodoView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * TodoService entity 轉 DTO 成本(單筆與 200 筆列表頁)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoConversionBenchmark {
+
+    private Todo todo;
+    private List<Todo> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+        page = LongStream.rangeClosed(1, TodoService.MAX_PAGE_SIZE)
+                .mapToObj(id -> Todo.builder()
+                        .id(id)
+                        .title("待辦事項 " + id)
+                        .description("description of todo " + id)
+                        .completed(id % 2 == 0 ? "Y" : "N")
+                        .createDate(now.minusDays(id))
+                        .updateDate(now)
+                        .version(id)
+                        .build())
+                .toList();
+        todo = page.get(0);
+    }
+
+    @Benchmark
+    public TodoCreateResponse convertToCreateResponse() {
+        return TodoService.convertToCreateResponse(TodoView.of(todo));
+    }
+
+    @Benchmark
+    public TodoUpdateResponse convertToUpdateResponse() {
+        return TodoService.convertToUpdateResponse(todo);
+    }
+
+    @Benchmark
+    public List<TodoCreateResponse> convertPage() {
+        return page.stream().map(TodoView::of).map(TodoService::convertToCreateResponse).toList();
+    }
+}
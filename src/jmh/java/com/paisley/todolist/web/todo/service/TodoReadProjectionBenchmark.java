@@ -0,0 +1,118 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.TodoListApplication;
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.repository.TodoRepository;
+import com.paisley.todolist.web.todo.repository.TodoView;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 列表讀取：managed entity 再轉 DTO vs TodoView 投影再轉 DTO(H2 in-memory，含查詢本身)。
+ * 以 -Djmh.profilers=gc 執行時 gc.alloc.rate.norm 即每次讀取的 heap 配置量
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoReadProjectionBenchmark {
+
+    private static final String ENTITY_PAGE = "select t from Todo t where t.id > :afterId order by t.id";
+
+    @Param({"200", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:projection_benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        todoRepository = context.getBean(TodoRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        LocalDateTime now = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+        todoRepository.saveAll(LongStream.rangeClosed(1, size)
+                .mapToObj(i -> Todo.builder()
+                        .title("待辦事項 " + i)
+                        .description("description of todo " + i)
+                        .completed(i % 2 == 0 ? "Y" : "N")
+                        .createDate(now.minusDays(i))
+                        .updateDate(now)
+                        .build())
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 原讀取方式：一般交易中載入 entity，persistence context 保留 dirty checking 快照
+    @Benchmark
+    public List<TodoCreateResponse> entities() {
+        return readWrite.execute(status -> loadEntities());
+    }
+
+    // 唯讀交易載入 entity：不保留快照，但仍建立 managed entity 與 persistence context 項目
+    @Benchmark
+    public List<TodoCreateResponse> entitiesReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+
+    // 目前的讀取方式：唯讀交易中以 TodoView 投影
+    @Benchmark
+    public List<TodoCreateResponse> projections() {
+        return readOnly.execute(status -> todoRepository.findPage(0L, Limit.of(size)).stream()
+                .map(TodoService::convertToCreateResponse)
+                .toList());
+    }
+
+    private List<TodoCreateResponse> loadEntities() {
+        return entityManager.createQuery(ENTITY_PAGE, Todo.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(size)
+                .getResultList().stream()
+                .map(TodoView::of)
+                .map(TodoService::convertToCreateResponse)
+                .toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.paisley.todolist.web.todo.domain.TodoPageResponse;
+import com.paisley.todolist.web.todo.repository.TodoView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 200 筆列表頁由 TodoView 轉 DTO 並序列化：JSON(id/時間為字串) vs CBOR(id/時間為數值)。
+ * payload 大小於 setup 時印出
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoWireFormatBenchmark {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private List<TodoView> page;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+        page = LongStream.rangeClosed(1_000_001, 1_000_000 + TodoService.MAX_PAGE_SIZE)
+                .mapToObj(id -> new TodoView(id, "待辦事項 " + id, "description of todo " + id,
+                        id % 2 == 0 ? "Y" : "N", now.minusDays(id % 365), now, id % 7))
+                .toList();
+        System.out.printf("%npayload bytes for %d todos: json=%d cbor=%d%n", page.size(),
+                json.writeValueAsBytes(response()).length, cbor.writeValueAsBytes(response()).length);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return json.writeValueAsBytes(response());
+    }
+
+    @Benchmark
+    public byte[] cbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(response());
+    }
+
+    private TodoPageResponse response() {
+        return TodoPageResponse.builder()
+                .items(page.stream().map(TodoService::convertToCreateResponse).toList())
+                .nextCursor(String.valueOf(page.get(page.size() - 1).id()))
+                .build();
+    }
+}
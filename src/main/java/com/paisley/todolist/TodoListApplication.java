@@ -2,7 +2,11 @@ package com.paisley.todolist;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
+// 快取 advisor 排在交易 advisor 外層：@CacheEvict/@CachePut 於交易 commit 之後才執行，快取命中也不會開啟交易
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 @SpringBootApplication
 public class TodoListApplication {
 
@@ -0,0 +1,65 @@
+package com.paisley.todolist.config;
+
+import com.paisley.todolist.web.todo.filter.AdaptiveConcurrencyLimit;
+import com.paisley.todolist.web.todo.filter.TodoConcurrencyLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * /api/todos 的自適應同時處理上限(todo.limit.*)，讀寫分開。
+ * 指標：todo.concurrency.limit / todo.concurrency.in.flight(gauge)、todo.concurrency.rejected(counter)，tag type=read|write
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todo.limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<TodoConcurrencyLimitFilter> todoConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${todo.limit.read.initial:100}") int readInitial,
+            @Value("${todo.limit.read.max:400}") int readMax,
+            @Value("${todo.limit.write.initial:20}") int writeInitial,
+            @Value("${todo.limit.write.max:100}") int writeMax,
+            @Value("${todo.limit.min:4}") int min,
+            @Value("${todo.limit.window-ms:500}") long windowMillis,
+            @Value("${todo.limit.reject-status:503}") int rejectStatus,
+            @Value("${todo.limit.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${todo.limit.excluded-paths:/api/todos/changes,/api/todos/export}") Set<String> excludedPaths,
+            @Value("${todo.limit.drop-statuses:503,504}") Set<Integer> dropStatuses) {
+        AdaptiveConcurrencyLimit readLimit = new AdaptiveConcurrencyLimit(readInitial, min, readMax, windowMillis);
+        AdaptiveConcurrencyLimit writeLimit = new AdaptiveConcurrencyLimit(writeInitial, min, writeMax, windowMillis);
+        bindMetrics(meterRegistry, "read", readLimit);
+        bindMetrics(meterRegistry, "write", writeLimit);
+
+        FilterRegistrationBean<TodoConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new TodoConcurrencyLimitFilter(readLimit, writeLimit, rejectStatus, retryAfterSeconds, excludedPaths, dropStatuses));
+        registration.addUrlPatterns("/api/todos", "/api/todos/*");
+        // 排在 http.server.requests 的 observation filter 之後，被拒絕的請求也會被記錄
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static void bindMetrics(MeterRegistry registry, String type, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("todo.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("type", type)
+                .description("Current adaptive in-flight limit")
+                .register(registry);
+        Gauge.builder("todo.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("type", type)
+                .register(registry);
+        FunctionCounter.builder("todo.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                .tag("type", type)
+                .description("Requests fast-failed because the limit was reached")
+                .register(registry);
+    }
+
+}
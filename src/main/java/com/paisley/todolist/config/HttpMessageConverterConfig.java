@@ -0,0 +1,22 @@
+package com.paisley.todolist.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR(application/cbor)：請求 Content-Type 與回應 Accept 皆可指定，未指定時仍為 JSON。
+ * 以 Spring Boot 的 Jackson2ObjectMapperBuilder 建立，沿用 spring.jackson.* 設定；id 與時間欄位的數值編碼見 TodoWireSerializers
+ */
+@Configuration(proxyBeanMethods = false)
+public class HttpMessageConverterConfig {
+
+    // 取代 Spring MVC 預設的 CBOR converter(位置不變，排在 JSON 之後)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.paisley.todolist.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指標設定：分位數(percentiles)以 2 位有效數字計算(誤差約 1%)，Micrometer 預設 1 位在 p999 會偏差到約 10%。
+ * 要計算分位數的 timer 見 application.properties 的 management.metrics.distribution.percentiles.*
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    private static final int PERCENTILE_PRECISION = 2;
+
+    @Bean
+    public MeterFilter percentilePrecisionMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilePrecision(PERCENTILE_PRECISION)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.paisley.todolist.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 虛擬執行緒模式(spring.threads.virtual.enabled=true 且 Java 21+)下限制同時持有 JDBC 連線的數量。
+ * H2/JDBC 驅動內部仍有 synchronized 區塊，虛擬執行緒在其中阻塞會釘住(pin)載體執行緒；
+ * 超過上限的請求改在 Semaphore 上等待(可卸載)，避免所有載體執行緒被 JDBC 佔滿。
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadJdbcGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyGuard(
+            @Value("${todo.jdbc.max-concurrency:0}") int maxConcurrency,
+            @Value("${todo.jdbc.acquire-timeout-ms:30000}") long acquireTimeoutMs) {
+        // 預設保留一個載體執行緒給非 JDBC 工作
+        int permits = maxConcurrency > 0 ? maxConcurrency : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GuardedDataSource)) {
+                    log.info("JDBC concurrency guard enabled for {} ({} permits)", beanName, permits);
+                    return new GuardedDataSource(dataSource, new Semaphore(permits, true), acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class GuardedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final long acquireTimeoutMs;
+
+        GuardedDataSource(DataSource target, Semaphore permits, long acquireTimeoutMs) {
+            super(target);
+            this.permits = permits;
+            this.acquireTimeoutMs = acquireTimeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return guard(super.getConnection());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return guard(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("JDBC concurrency guard timed out after " + acquireTimeoutMs + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for JDBC permit", e);
+            }
+        }
+
+        // 連線 close 時歸還 permit(僅一次)
+        private Connection guard(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> {
+                            try {
+                                yield method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            } finally {
+                                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                        }
+                    });
+        }
+    }
+
+}
@@ -6,14 +6,22 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        // 分頁查詢：依完成狀態篩選後以 id 做 keyset range scan
+        @Index(name = "idx_todos_completed_id", columnList = "completed, id"),
+        // 依更新日期區間篩選時以 (update_date, id) 做 keyset range scan
+        @Index(name = "idx_todos_update_date_id", columnList = "update_date, id"),
+        @Index(name = "idx_todos_completed_update_date_id", columnList = "completed, update_date, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Data
 public class Todo {
+    // 使用 sequence（pooled，一次配置 50 個 id），IDENTITY 會讓 Hibernate 無法做 JDBC batch insert
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +41,10 @@ public class Todo {
     @Column(nullable = false)
     private LocalDateTime updateDate = LocalDateTime.now();
 
+    // 樂觀鎖版本，每次更新 +1
+    @Version
+    private Long version;
+
     // 讓 updateDate 在每次更新時自動更新
     @PreUpdate
     public void setUpdateTimestamp() {
@@ -0,0 +1,789 @@
+package com.paisley.todolist.dao.store;
+
+import com.paisley.todolist.dao.model.Todo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32C;
+
+/**
+ * Todo 的 append-only 記錄檔，以 memory-mapped file 讀寫，記憶體內保留 id -> 記錄位置索引。
+ * <p>
+ * 檔案格式：header(magic、格式版本、id 高水位) 之後依序為記錄，每筆為 [長度][CRC32C][內容]，
+ * 內容為 PUT(完整 Todo)、DELETE(id) 或 BATCH(多筆完整的 PUT/DELETE 記錄)。寫入時先寫內容與 CRC，最後才寫長度，
+ * 長度為 0 表示檔案結尾；啟動時由頭掃描重建索引，遇到長度/CRC 不符的記錄視為寫到一半(crash)，截斷並清除其後內容。
+ * 被覆蓋或刪除的記錄累積超過門檻時，壓實(compaction)成只含有效記錄的新檔，再以 atomic move 取代原檔。
+ * <p>
+ * 非交易式：每次 put/delete 寫入即生效，不隨外層交易 rollback；需要多筆全有或全無時使用 atomically
+ */
+@Slf4j
+public final class TodoLogStore implements Closeable {
+
+    private static final int MAGIC = 0x544F444F;
+    // 2：新增 BATCH 記錄；版本 1 的檔案可直接升級
+    private static final int FORMAT_VERSION = 2;
+    // magic(4) + format(4) + id 高水位(8)
+    private static final int HEADER_SIZE = 16;
+    // 長度(4) + CRC(4)
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_DELETE = 2;
+    private static final byte TYPE_BATCH = 3;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE;
+
+    private final Path path;
+    private final Path compactPath;
+    private final int initialSize;
+    private final boolean syncWrites;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 同一時間只執行一次壓實；壓實的複製階段不持有 lock
+    private final Object compactLock = new Object();
+    // id -> 最新一筆 PUT 記錄，依 id 排序供分頁與匯出
+    private final NavigableMap<Long, Slot> index = new TreeMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long garbageBytes;
+    private long lastId;
+    private LocalDateTime maxUpdateDate;
+    // atomically 進行中的批次，只有持有寫鎖的執行緒會存取
+    private Batch batch;
+
+    private record Slot(int offset, int size) {}
+
+    private record Pending(long id, int offset, int size, boolean delete, LocalDateTime updateDate) {}
+
+    // 批次內的記錄先暫存，結束時合併為一筆 BATCH 記錄寫入；latest 讓批次內的讀取看得到自己的寫入(null 表示已刪除)
+    private static final class Batch {
+        private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        private final List<Pending> pending = new ArrayList<>();
+        private final Map<Long, byte[]> latest = new HashMap<>();
+
+        private void add(long id, byte[] record, boolean delete, LocalDateTime updateDate) {
+            pending.add(new Pending(id, records.size(), record.length, delete, updateDate));
+            records.writeBytes(record);
+            latest.put(id, delete ? null : record);
+        }
+    }
+
+    /**
+     * @param path        記錄檔路徑
+     * @param initialSize 初始映射大小(bytes)，不足時倍增
+     * @param syncWrites  true 時每筆寫入後 force 到磁碟；false 時交由 OS 回寫(程序 crash 不遺失，主機斷電可能遺失最後幾筆)
+     */
+    public TodoLogStore(Path path, int initialSize, boolean syncWrites) {
+        this.path = path;
+        this.compactPath = path.resolveSibling(path.getFileName() + ".compact");
+        this.initialSize = Math.max(HEADER_SIZE + RECORD_HEADER_SIZE, initialSize);
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * 開檔並由記錄重建索引；未完成的壓實暫存檔直接捨棄(原檔在 move 前保持完整)
+     */
+    public void open() {
+        lock.writeLock().lock();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Files.deleteIfExists(compactPath);
+            boolean created = Files.notExists(path);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long fileSize = channel.size();
+            if (fileSize > MAX_CAPACITY) {
+                throw new IllegalStateException("Todo log exceeds " + MAX_CAPACITY + " bytes: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialSize, fileSize));
+            if (created || fileSize == 0) {
+                writeHeader(buffer, 0);
+                buffer.force();
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) < 1 || buffer.getInt(4) > FORMAT_VERSION) {
+                throw new IllegalStateException("Not a todo log file: " + path);
+            } else {
+                buffer.putInt(4, FORMAT_VERSION);
+            }
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Todo> get(long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(current(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return exists(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 以下 size/maxId/scan/ids 不含進行中批次的寫入
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Long maxId() {
+        lock.readLock().lock();
+        try {
+            return index.isEmpty() ? null : index.lastKey();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 最近一次寫入的更新時間(只增不減，刪除不會使其變小)
+     *
+     * @return LocalDateTime
+     */
+    public LocalDateTime maxUpdateDate() {
+        lock.readLock().lock();
+        try {
+            return maxUpdateDate;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 依 id 由小到大走訪 afterId 之後的資料，visitor 回傳 false 時停止；走訪期間持有讀鎖，visitor 不得寫入
+     *
+     * @param afterId afterId(不含)
+     * @param visitor visitor
+     */
+    public void scan(long afterId, Predicate<Todo> visitor) {
+        lock.readLock().lock();
+        try {
+            for (Slot slot : index.tailMap(afterId, false).values()) {
+                if (!visitor.test(decode(buffer, slot.offset()))) return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 目前所有 id 的快照(遞增)
+     *
+     * @return List<Long>
+     */
+    public List<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(index.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 配置新 id
+     *
+     * @return long
+     */
+    public long nextId() {
+        lock.writeLock().lock();
+        try {
+            return ++lastId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 寫入完整記錄(id 與 version 由呼叫端決定)
+     *
+     * @param todo todo
+     */
+    public void put(Todo todo) {
+        lock.writeLock().lock();
+        try {
+            appendPut(todo);
+            sync();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 於寫鎖內讀取、修改後寫回；updater 回傳 null 表示不寫入。不存在的 id 傳入 null
+     *
+     * @param id      id
+     * @param updater updater
+     * @return Todo 寫入後的資料，未寫入時為 null
+     */
+    public Todo update(long id, UnaryOperator<Todo> updater) {
+        lock.writeLock().lock();
+        try {
+            Todo updated = updater.apply(current(id));
+            if (updated != null) {
+                appendPut(updated);
+                sync();
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 於同一寫鎖內依序處理多筆，最後只 force 一次(group commit)
+     *
+     * @param ids     ids
+     * @param updater 回傳 null 表示不寫入；回傳的 Todo id 為 null 時刪除該筆
+     * @return int 寫入筆數
+     */
+    public int updateAll(Iterable<Long> ids, UnaryOperator<Todo> updater) {
+        lock.writeLock().lock();
+        try {
+            int affected = 0;
+            for (Long id : ids) {
+                Todo todo = current(id);
+                if (todo == null) continue;
+                Todo updated = updater.apply(todo);
+                if (updated == null) continue;
+                if (updated.getId() == null) {
+                    appendDelete(id);
+                } else {
+                    appendPut(updated);
+                }
+                affected++;
+            }
+            if (affected > 0) sync();
+            return affected;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 多筆寫入，最後只 force 一次
+     *
+     * @param todos todos
+     */
+    public void putAll(List<Todo> todos) {
+        lock.writeLock().lock();
+        try {
+            todos.forEach(this::appendPut);
+            sync();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 刪除
+     *
+     * @param id id
+     * @return boolean 原本存在時為 true
+     */
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            if (!exists(id)) return false;
+            appendDelete(id);
+            sync();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * work 內的 put/update/delete 合併為一筆 BATCH 記錄，work 正常結束才寫入，丟出例外時全部捨棄；
+     * crash 時整筆記錄不是完整存在就是被截斷。執行期間持有寫鎖，work 應保持簡短
+     *
+     * @param work work
+     * @return T
+     * @param <T> T
+     */
+    public <T> T atomically(Supplier<T> work) {
+        lock.writeLock().lock();
+        try {
+            if (batch != null) return work.get();
+            Batch started = new Batch();
+            batch = started;
+            T result;
+            try {
+                result = work.get();
+            } finally {
+                batch = null;
+            }
+            commit(started);
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void force() {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 無效記錄(被覆蓋或刪除)佔已使用空間的比例
+     *
+     * @return double
+     */
+    public double garbageRatio() {
+        lock.readLock().lock();
+        try {
+            return writePosition <= HEADER_SIZE ? 0 : (double) garbageBytes / (writePosition - HEADER_SIZE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long garbageBytes() {
+        lock.readLock().lock();
+        try {
+            return garbageBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 下一筆記錄的位置
+    int writePosition() {
+        lock.readLock().lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 壓實：只複製有效記錄到暫存檔，force 後以 atomic move 取代原檔。
+     * 先在讀鎖內取索引快照，複製快照時不持有鎖(記錄只會附加，快照範圍內的內容不會再變動)；
+     * 最後在寫鎖內補上複製期間新寫入的記錄後切換，寫入只在這一段等待
+     */
+    public void compact() {
+        synchronized (compactLock) {
+            try {
+                compactSnapshot();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void compactSnapshot() throws IOException {
+        long start = System.nanoTime();
+        long[] ids;
+        Slot[] slots;
+        MappedByteBuffer source;
+        long liveBytes;
+        lock.readLock().lock();
+        try {
+            if (channel == null) throw new IllegalStateException("Todo log is closed: " + path);
+            ids = new long[index.size()];
+            slots = new Slot[index.size()];
+            int i = 0;
+            for (Map.Entry<Long, Slot> entry : index.entrySet()) {
+                ids[i] = entry.getKey();
+                slots[i++] = entry.getValue();
+            }
+            source = buffer;
+            liveBytes = (long) writePosition - HEADER_SIZE - garbageBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Compaction target = new Compaction(FileChannel.open(compactPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        boolean replaced = false;
+        try {
+            target.map(Math.min(MAX_CAPACITY, Math.max(initialSize, (HEADER_SIZE + liveBytes) * 2)));
+            int[] offsets = new int[slots.length];
+            for (int i = 0; i < slots.length; i++) {
+                offsets[i] = target.copy(source, slots[i]);
+            }
+            target.buffer.force();
+
+            lock.writeLock().lock();
+            try {
+                if (channel == null) throw new IllegalStateException("Todo log closed during compaction: " + path);
+                Map<Long, Integer> copied = new HashMap<>(ids.length * 2);
+                for (int i = 0; i < ids.length; i++) copied.put(ids[i], i);
+                NavigableMap<Long, Slot> compactedIndex = new TreeMap<>();
+                int caughtUp = 0;
+                for (Map.Entry<Long, Slot> entry : index.entrySet()) {
+                    Slot slot = entry.getValue();
+                    Integer i = copied.get(entry.getKey());
+                    if (i != null && slots[i].equals(slot)) {
+                        compactedIndex.put(entry.getKey(), new Slot(offsets[i], slot.size()));
+                    } else {
+                        // 複製期間新增或覆蓋的記錄
+                        compactedIndex.put(entry.getKey(), new Slot(target.copy(buffer, slot), slot.size()));
+                        caughtUp++;
+                    }
+                }
+                writeHeader(target.buffer, lastId);
+                target.buffer.force();
+                Files.move(compactPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                replaced = true;
+
+                long before = writePosition;
+                FileChannel previous = channel;
+                channel = target.channel;
+                buffer = target.buffer;
+                index.clear();
+                index.putAll(compactedIndex);
+                writePosition = target.position;
+                garbageBytes = 0;
+                closeQuietly(previous);
+                log.info("Todo log compacted {} -> {} bytes ({} records, {} written during copy) in {} ms",
+                        before, writePosition, index.size(), caughtUp, (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            if (!replaced) {
+                closeQuietly(target.channel);
+                Files.deleteIfExists(compactPath);
+            }
+        }
+    }
+
+    // 壓實中的新檔，依序附加記錄
+    private static final class Compaction {
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+        private int position = HEADER_SIZE;
+        private byte[] copy = new byte[0];
+
+        private Compaction(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void map(long capacity) throws IOException {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        private int copy(MappedByteBuffer source, Slot slot) throws IOException {
+            long required = (long) position + slot.size();
+            if (required > MAX_CAPACITY) {
+                throw new IllegalStateException("Compacted todo log exceeds " + MAX_CAPACITY + " bytes");
+            }
+            if (required > buffer.capacity()) {
+                map(Math.min(MAX_CAPACITY, Math.max(required, (long) buffer.capacity() * 2)));
+            }
+            if (copy.length < slot.size()) copy = new byte[slot.size()];
+            source.get(slot.offset(), copy, 0, slot.size());
+            buffer.put(position, copy, 0, slot.size());
+            int offset = position;
+            position += slot.size();
+            return offset;
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (channel == null) return;
+            buffer.force();
+            channel.close();
+            channel = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover() {
+        long start = System.nanoTime();
+        lastId = buffer.getLong(8);
+        int position = HEADER_SIZE;
+        int records = 0;
+        CRC32C crc = new CRC32C();
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) break;
+            int end = position + RECORD_HEADER_SIZE + length;
+            if (length < 0 || end < 0 || end > buffer.capacity() || crc(crc, position + RECORD_HEADER_SIZE, length) != buffer.getInt(position + 4)) {
+                // 寫到一半的記錄：截斷並清除，之後從這裡續寫
+                int clearTo = length > 0 && end > 0 && end <= buffer.capacity() ? end : buffer.capacity();
+                log.warn("Todo log {} has a torn record at offset {}, truncating", path, position);
+                for (int i = position; i < clearTo; i++) buffer.put(i, (byte) 0);
+                buffer.force();
+                break;
+            }
+            if (buffer.get(position + RECORD_HEADER_SIZE) == TYPE_BATCH) {
+                // 外層的長度、CRC 與型別不屬於任何一筆資料；內含的每筆記錄格式與一般記錄相同
+                garbageBytes += RECORD_HEADER_SIZE + 1;
+                int inner = position + RECORD_HEADER_SIZE + 1;
+                while (inner < end) {
+                    int size = RECORD_HEADER_SIZE + buffer.getInt(inner);
+                    recoverRecord(inner, size);
+                    inner += size;
+                    records++;
+                }
+            } else {
+                recoverRecord(position, RECORD_HEADER_SIZE + length);
+                records++;
+            }
+            position = end;
+        }
+        writePosition = position;
+        log.info("Todo log {} recovered: {} records, {} live, {} garbage bytes in {} ms",
+                path, records, index.size(), garbageBytes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void recoverRecord(int offset, int size) {
+        boolean delete = buffer.get(offset + RECORD_HEADER_SIZE) == TYPE_DELETE;
+        long id = buffer.getLong(offset + RECORD_HEADER_SIZE + 1);
+        lastId = Math.max(lastId, id);
+        apply(id, offset, size, delete);
+        if (!delete) trackUpdateDate(decode(buffer, offset).getUpdateDate());
+    }
+
+    // 索引指向最新一筆 PUT；被取代的記錄與 DELETE 記錄本身計入無效空間
+    private void apply(long id, int offset, int size, boolean delete) {
+        Slot previous = delete ? index.remove(id) : index.put(id, new Slot(offset, size));
+        if (previous != null) garbageBytes += previous.size();
+        if (delete) garbageBytes += size;
+    }
+
+    private void appendPut(Todo todo) {
+        byte[] title = utf8(todo.getTitle());
+        byte[] description = utf8(todo.getDescription());
+        byte[] completed = utf8(todo.getCompleted());
+        int length = 1 + 8 + 8 + 12 + 12 + stringSize(completed) + stringSize(title) + stringSize(description);
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.put(TYPE_PUT).putLong(todo.getId()).putLong(todo.getVersion() == null ? 0 : todo.getVersion());
+        putDate(body, todo.getCreateDate());
+        putDate(body, todo.getUpdateDate());
+        putString(body, completed);
+        putString(body, title);
+        putString(body, description);
+        byte[] record = frame(body.array());
+        lastId = Math.max(lastId, todo.getId());
+        if (batch != null) {
+            batch.add(todo.getId(), record, false, todo.getUpdateDate());
+            return;
+        }
+        apply(todo.getId(), append(record), record.length, false);
+        trackUpdateDate(todo.getUpdateDate());
+    }
+
+    private void appendDelete(long id) {
+        byte[] record = frame(ByteBuffer.allocate(1 + 8).put(TYPE_DELETE).putLong(id).array());
+        if (batch != null) {
+            batch.add(id, record, true, null);
+            return;
+        }
+        apply(id, append(record), record.length, true);
+    }
+
+    // 批次內的記錄合併為一筆 BATCH 記錄，以單一長度欄位作為整批的 commit 標記
+    private void commit(Batch committed) {
+        if (committed.pending.isEmpty()) return;
+        byte[] records = committed.records.toByteArray();
+        byte[] body = new byte[1 + records.length];
+        body[0] = TYPE_BATCH;
+        System.arraycopy(records, 0, body, 1, records.length);
+        int base = append(frame(body)) + RECORD_HEADER_SIZE + 1;
+        garbageBytes += RECORD_HEADER_SIZE + 1;
+        for (Pending pending : committed.pending) {
+            apply(pending.id(), base + pending.offset(), pending.size(), pending.delete());
+            if (!pending.delete()) trackUpdateDate(pending.updateDate());
+        }
+        sync();
+    }
+
+    // [長度][CRC32C][內容]
+    private static byte[] frame(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + body.length)
+                .putInt(body.length)
+                .putInt((int) crc.getValue())
+                .put(body)
+                .array();
+    }
+
+    // 先寫內容與 CRC，最後寫長度，長度即為這筆記錄的 commit 標記
+    private int append(byte[] record) {
+        ensureCapacity(record.length);
+        int offset = writePosition;
+        buffer.put(offset + 4, record, 4, record.length - 4);
+        buffer.putInt(offset, record.length - RECORD_HEADER_SIZE);
+        writePosition += record.length;
+        return offset;
+    }
+
+    private void ensureCapacity(int size) {
+        if ((long) writePosition + size + RECORD_HEADER_SIZE <= buffer.capacity()) return;
+        long required = (long) writePosition + size + RECORD_HEADER_SIZE;
+        long capacity = buffer.capacity();
+        while (capacity < required) capacity *= 2;
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException("Todo log is full (" + writePosition + " bytes), compaction required");
+        }
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(capacity, MAX_CAPACITY));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 批次內不 force，由 commit 一次處理
+    private void sync() {
+        if (syncWrites && batch == null) buffer.force();
+    }
+
+    // 目前的資料，進行中的批次優先
+    private Todo current(long id) {
+        if (batch != null && batch.latest.containsKey(id)) {
+            byte[] record = batch.latest.get(id);
+            return record == null ? null : decode(ByteBuffer.wrap(record), 0);
+        }
+        Slot slot = index.get(id);
+        return slot == null ? null : decode(buffer, slot.offset());
+    }
+
+    private boolean exists(long id) {
+        if (batch != null && batch.latest.containsKey(id)) {
+            return batch.latest.get(id) != null;
+        }
+        return index.containsKey(id);
+    }
+
+    private static Todo decode(ByteBuffer source, int offset) {
+        int position = offset + RECORD_HEADER_SIZE + 1;
+        long id = source.getLong(position);
+        long version = source.getLong(position + 8);
+        position += 16;
+        LocalDateTime createDate = getDate(source, position);
+        LocalDateTime updateDate = getDate(source, position + 12);
+        position += 24;
+        String[] strings = new String[3];
+        for (int i = 0; i < strings.length; i++) {
+            int length = source.getInt(position);
+            position += 4;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                source.get(position, bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        return Todo.builder()
+                .id(id)
+                .version(version)
+                .createDate(createDate)
+                .updateDate(updateDate)
+                .completed(strings[0])
+                .title(strings[1])
+                .description(strings[2])
+                .build();
+    }
+
+    private int crc(CRC32C crc, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private void trackUpdateDate(LocalDateTime updateDate) {
+        if (updateDate != null && (maxUpdateDate == null || updateDate.isAfter(maxUpdateDate))) {
+            maxUpdateDate = updateDate;
+        }
+    }
+
+    private static LocalDateTime getDate(ByteBuffer source, int position) {
+        long seconds = source.getLong(position);
+        return seconds == NULL_DATE ? null
+                : LocalDateTime.ofEpochSecond(seconds, source.getInt(position + 8), ZoneOffset.UTC);
+    }
+
+    private static void closeQuietly(FileChannel target) {
+        try {
+            target.close();
+        } catch (IOException e) {
+            log.warn("Failed to close todo log channel", e);
+        }
+    }
+
+    private static void putDate(ByteBuffer body, LocalDateTime date) {
+        if (date == null) {
+            body.putLong(NULL_DATE).putInt(0);
+        } else {
+            body.putLong(date.toEpochSecond(ZoneOffset.UTC)).putInt(date.getNano());
+        }
+    }
+
+    private static void putString(ByteBuffer body, byte[] bytes) {
+        if (bytes == null) {
+            body.putInt(-1);
+        } else {
+            body.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static byte[] utf8(String text) {
+        return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeHeader(MappedByteBuffer target, long idHighWater) {
+        target.putInt(0, MAGIC);
+        target.putInt(4, FORMAT_VERSION);
+        target.putLong(8, idHighWater);
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.paisley.todolist.util;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/**
+ * ConcurrentLongObjectMap
+ * 分段(striped)的 LongObjectMap，每段各自一把 StampedLock；讀取共用讀鎖，寫入只鎖該段
+ **/
+public class ConcurrentLongObjectMap<V> {
+
+    private static final int MAX_STRIPES = 256;
+
+    private final LongObjectMap<V>[] stripes;
+    private final StampedLock[] locks;
+    private final int stripeMask;
+
+    public ConcurrentLongObjectMap() {
+        this(0, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param expectedSize 預計總筆數
+     * @param stripes      分段數，取 2 的次方，上限 256
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongObjectMap(int expectedSize, int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, stripes)));
+        this.stripes = new LongObjectMap[count];
+        this.locks = new StampedLock[count];
+        this.stripeMask = count - 1;
+        int perStripe = (int) Math.min(Integer.MAX_VALUE, ((long) expectedSize + count - 1) / count);
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new LongObjectMap<>(perStripe);
+            this.locks[i] = new StampedLock();
+        }
+    }
+
+    public V get(long key) {
+        int index = stripe(key);
+        long stamp = locks[index].readLock();
+        try {
+            return stripes[index].get(key);
+        } finally {
+            locks[index].unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        int index = stripe(key);
+        long stamp = locks[index].readLock();
+        try {
+            return stripes[index].containsKey(key);
+        } finally {
+            locks[index].unlockRead(stamp);
+        }
+    }
+
+    public V put(long key, V value) {
+        int index = stripe(key);
+        long stamp = locks[index].writeLock();
+        try {
+            return stripes[index].put(key, value);
+        } finally {
+            locks[index].unlockWrite(stamp);
+        }
+    }
+
+    public V putIfAbsent(long key, V value) {
+        int index = stripe(key);
+        long stamp = locks[index].writeLock();
+        try {
+            return stripes[index].putIfAbsent(key, value);
+        } finally {
+            locks[index].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * key 不存在時以 mappingFunction 建立並放入；mappingFunction 於該段寫鎖內執行，應保持簡短且不得存取此 map
+     *
+     * @param key             key
+     * @param mappingFunction mappingFunction
+     * @return V 現值
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        int index = stripe(key);
+        StampedLock lock = locks[index];
+        long stamp = lock.readLock();
+        try {
+            V value = stripes[index].get(key);
+            if (value != null) return value;
+            long writeStamp = lock.tryConvertToWriteLock(stamp);
+            if (writeStamp == 0L) {
+                lock.unlockRead(stamp);
+                writeStamp = lock.writeLock();
+            }
+            stamp = writeStamp;
+            return stripes[index].computeIfAbsent(key, mappingFunction);
+        } finally {
+            lock.unlock(stamp);
+        }
+    }
+
+    public V remove(long key) {
+        int index = stripe(key);
+        long stamp = locks[index].writeLock();
+        try {
+            return stripes[index].remove(key);
+        } finally {
+            locks[index].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 各段筆數加總，並行寫入時僅為近似值
+     *
+     * @return int
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            long stamp = locks[i].readLock();
+            try {
+                size += stripes[i].size();
+            } finally {
+                locks[i].unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < stripes.length; i++) {
+            long stamp = locks[i].writeLock();
+            try {
+                stripes[i].clear();
+            } finally {
+                locks[i].unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * 逐段於讀鎖內走訪，action 不得修改此 map
+     *
+     * @param action action
+     */
+    public void forEach(LongObjectMap.EntryConsumer<? super V> action) {
+        for (int i = 0; i < stripes.length; i++) {
+            long stamp = locks[i].readLock();
+            try {
+                stripes[i].forEach(action);
+            } finally {
+                locks[i].unlockRead(stamp);
+            }
+        }
+    }
+
+    // 段內以 Fibonacci hashing 的高位定址，選段改用 murmur3 fmix 的低位，兩者互不相關
+    private int stripe(long key) {
+        long h = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return (int) (h ^ (h >>> 33)) & stripeMask;
+    }
+
+}
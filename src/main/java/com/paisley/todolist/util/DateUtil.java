@@ -23,6 +23,9 @@ import java.time.temporal.ChronoUnit;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -39,6 +42,18 @@ public final class DateUtil {
 
     private static final Locale LOCAL = Locale.TAIWAN;
 
+    /** 服務回應使用的日期時間格式 */
+    public static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    // 已編譯格式快取上限(每種快取各自計算)，超過後不再快取，避免任意 pattern 造成記憶體成長
+    private static final int FORMATTER_CACHE_LIMIT = 256;
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<String, DateTimeFormatter> DEFAULT_LOCALE_FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<String, DateTimeFormatter> STRICT_FORMATTERS = new ConcurrentHashMap<>();
+    // SimpleDateFormat 非執行緒安全，快取原型，使用時 clone(省去 pattern 編譯)
+    private static final Map<String, SimpleDateFormat> SIMPLE_DATE_FORMATS = new ConcurrentHashMap<>();
+    private static final ZoneId ZONE_ID_PLUS_8 = ZoneId.of("UTC+8");
+
     /**
      * String轉Date
      *
@@ -48,10 +63,9 @@ public final class DateUtil {
      * @throws ParseException exception
      */
     public static Date parseDate(String str, String format) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
         Date date = null;
         if (StringUtil.isBlank(str)) return date;
-        return sdf.parse(str);
+        return simpleDateFormat(format).parse(str);
     }
 
     /**
@@ -61,8 +75,17 @@ public final class DateUtil {
      * @return Date
      */
     public static Date parseDate(LocalDateTime localDateTime) {
-        ZoneId zoneIdPlus8 = ZoneId.of("UTC+8");
-        return Date.from(localDateTime.atZone(zoneIdPlus8).toInstant());
+        return Date.from(localDateTime.atZone(ZONE_ID_PLUS_8).toInstant());
+    }
+
+    /**
+     * LocalDateTime轉epoch毫秒(UTC+8)
+     *
+     * @param localDateTime localDateTime
+     * @return long
+     */
+    public static long toEpochMilli(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZONE_ID_PLUS_8).toInstant().toEpochMilli();
     }
 
     /**
@@ -74,10 +97,9 @@ public final class DateUtil {
      * @throws ParseException exception
      */
     public static Timestamp parseTimestamp(String str, String format) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
         Timestamp timestamp = null;
         if (StringUtil.isBlank(str)) return timestamp;
-        return new Timestamp(sdf.parse(str).getTime());
+        return new Timestamp(simpleDateFormat(format).parse(str).getTime());
     }
 
     /**
@@ -104,7 +126,7 @@ public final class DateUtil {
     public static LocalDate parseLocalDate(String time, String pattern) {
         LocalDate localDate = null;
         if (checkPattern(time, pattern)) {
-            localDate = LocalDate.parse(time, DateTimeFormatter.ofPattern(pattern, LOCAL));
+            localDate = LocalDate.parse(time, formatter(pattern));
         }
         return localDate;
     }
@@ -119,7 +141,7 @@ public final class DateUtil {
     public static LocalDateTime parseLocalDateTime(String time, String pattern) {
         LocalDateTime localDateTime = null;
         if (checkPattern(time, pattern)) {
-            localDateTime = LocalDateTime.parse(time, DateTimeFormatter.ofPattern(pattern, LOCAL));
+            localDateTime = LocalDateTime.parse(time, formatter(pattern));
         }
         return localDateTime;
     }
@@ -146,10 +168,9 @@ public final class DateUtil {
      * @return String
      */
     public static String format(Date date, String pattern) {
-        SimpleDateFormat sdf = new SimpleDateFormat(pattern);
         String str = null;
         if (nonNull(date)) {
-            str = sdf.format(date);
+            str = simpleDateFormat(pattern).format(date);
         }
         return str;
     }
@@ -162,8 +183,7 @@ public final class DateUtil {
      * @return String
      */
     public static String format(long timeMillis, String pattern) {
-        ZoneId zoneIdPlus8 = ZoneId.of("UTC+8");
-        LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), zoneIdPlus8);
+        LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZONE_ID_PLUS_8);
         return format(localDateTime, pattern);
     }
 
@@ -175,13 +195,43 @@ public final class DateUtil {
      * @return String
      */
     public static String format(LocalDateTime localDateTime, String pattern) {
+        if (DATE_TIME_PATTERN.equals(pattern)) {
+            return formatDateTime(localDateTime);
+        }
         String str = null;
         if (nonNull(localDateTime)) {
-            str = localDateTime.format(DateTimeFormatter.ofPattern(pattern, LOCAL));
+            str = localDateTime.format(formatter(pattern));
         }
         return str;
     }
 
+    /**
+     * LocalDateTime轉String(yyyy-MM-dd HH:mm:ss)，不經 DateTimeFormatter 直接寫入字元陣列
+     *
+     * @param localDateTime localDateTime
+     * @return String
+     */
+    public static String formatDateTime(LocalDateTime localDateTime) {
+        if (localDateTime == null) return null;
+        int year = localDateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return localDateTime.format(formatter(DATE_TIME_PATTERN));
+        }
+        char[] buf = new char[19];
+        writeDigits(buf, 0, year, 4);
+        buf[4] = '-';
+        writeDigits(buf, 5, localDateTime.getMonthValue(), 2);
+        buf[7] = '-';
+        writeDigits(buf, 8, localDateTime.getDayOfMonth(), 2);
+        buf[10] = ' ';
+        writeDigits(buf, 11, localDateTime.getHour(), 2);
+        buf[13] = ':';
+        writeDigits(buf, 14, localDateTime.getMinute(), 2);
+        buf[16] = ':';
+        writeDigits(buf, 17, localDateTime.getSecond(), 2);
+        return new String(buf);
+    }
+
     /**
      * LocalDat轉String
      *
@@ -192,7 +242,7 @@ public final class DateUtil {
     public static String format(LocalDate localDate, String pattern) {
         String str = null;
         if (nonNull(localDate)) {
-            str = localDate.format(DateTimeFormatter.ofPattern(pattern, LOCAL));
+            str = localDate.format(formatter(pattern));
         }
         return str;
     }
@@ -209,9 +259,8 @@ public final class DateUtil {
         LocalDateTime localDateTime = parseLocalDateTime(timestamp);
         if (nonNull(localDateTime)) {
             MinguoDate minguoDate = MinguoDate.from(localDateTime.toLocalDate());
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern(pattern, LOCAL);
             ChronoLocalDateTime<MinguoDate> minguoDateTime = minguoDate.atTime(localDateTime.toLocalTime());
-            result = minguoDateTime.format(dtf);
+            result = minguoDateTime.format(formatter(pattern));
         }
         return result;
     }
@@ -366,8 +415,7 @@ public final class DateUtil {
      * @return LocalDateTime
      */
     public static LocalDateTime now() {
-        ZoneId zoneIdPlus8 = ZoneId.of("UTC+8");
-        return LocalDateTime.ofInstant(Instant.now(), zoneIdPlus8);
+        return LocalDateTime.ofInstant(Instant.now(), ZONE_ID_PLUS_8);
     }
 
     /**
@@ -376,7 +424,7 @@ public final class DateUtil {
      * @return String
      */
     public static String now(String pattern) {
-        return now().format(DateTimeFormatter.ofPattern(pattern));
+        return now().format(cached(DEFAULT_LOCALE_FORMATTERS, pattern, DateTimeFormatter::ofPattern));
     }
 
     /**
@@ -388,9 +436,8 @@ public final class DateUtil {
     public static String nowAsRoc(String pattern) {
         LocalDateTime localDateTime = LocalDateTime.now();
         MinguoDate minguoDate = MinguoDate.from(localDateTime.toLocalDate());
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern(pattern, LOCAL);
         ChronoLocalDateTime<MinguoDate> minguoDateTime = minguoDate.atTime(localDateTime.toLocalTime());
-        return minguoDateTime.format(dtf);
+        return minguoDateTime.format(formatter(pattern));
     }
 
     /**
@@ -443,7 +490,8 @@ public final class DateUtil {
      * @return boolean
      */
     private static boolean checkPattern(String time, String pattern) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern.replace("y", "u"), LOCAL).withResolverStyle(ResolverStyle.STRICT);
+        DateTimeFormatter formatter = cached(STRICT_FORMATTERS, pattern,
+                p -> DateTimeFormatter.ofPattern(p.replace("y", "u"), LOCAL).withResolverStyle(ResolverStyle.STRICT));
         try {
             return formatter.parseUnresolved(time, new ParsePosition(0)) != null;
         } catch (DateTimeParseException e) {
@@ -451,4 +499,43 @@ public final class DateUtil {
         }
     }
 
+    /**
+     * 取得已編譯的 DateTimeFormatter(Locale.TAIWAN)
+     *
+     * @param pattern pattern
+     * @return DateTimeFormatter
+     */
+    private static DateTimeFormatter formatter(String pattern) {
+        return cached(FORMATTERS, pattern, p -> DateTimeFormatter.ofPattern(p, LOCAL));
+    }
+
+    /**
+     * 取得 SimpleDateFormat，由快取原型 clone，呼叫端可獨佔使用
+     *
+     * @param pattern pattern
+     * @return SimpleDateFormat
+     */
+    private static SimpleDateFormat simpleDateFormat(String pattern) {
+        return (SimpleDateFormat) cached(SIMPLE_DATE_FORMATS, pattern, SimpleDateFormat::new).clone();
+    }
+
+    private static <T> T cached(Map<String, T> cache, String pattern, Function<String, T> factory) {
+        T value = cache.get(pattern);
+        if (value == null) {
+            value = factory.apply(pattern);
+            if (cache.size() < FORMATTER_CACHE_LIMIT) {
+                T existing = cache.putIfAbsent(pattern, value);
+                if (existing != null) value = existing;
+            }
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
 }
@@ -1,11 +1,18 @@
 package com.paisley.todolist.util;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * ListUtil
@@ -42,12 +49,176 @@ public final class ListUtil {
      * @param <T> T
      */
     public static <T> List<List<T>> limit(List<T> list, int listSize) {
-        long limit = (list.size() + listSize - 1) / listSize;
-        return Stream.iterate(0, i -> i + 1)
-                .limit(limit)
-                .map(i -> list.stream().skip((long) i * listSize).limit(listSize)
-                        .collect(Collectors.toList()))
-                .collect(Collectors.toList());
+        return partition(list, listSize, true);
+    }
+
+    /**
+     * List分組，每size筆分一組；RandomAccess 的 List 回傳 subList 檢視(不複製，原 List 異動會反映)，
+     * 其他 List 走訪一次複製
+     *
+     * @param list list
+     * @param size size
+     * @return List<List<T>>
+     * @param <T> T
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        return partition(list, size, false);
+    }
+
+    /**
+     * List分組，每size筆分一組
+     *
+     * @param list list
+     * @param size size
+     * @param copy true 時每組皆為獨立的 ArrayList
+     * @return List<List<T>>
+     * @param <T> T
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size, boolean copy) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        if (list instanceof RandomAccess) {
+            List<List<T>> views = new Partition<>(list, size);
+            if (!copy) return views;
+            List<List<T>> copies = new ArrayList<>(views.size());
+            views.forEach(view -> copies.add(new ArrayList<>(view)));
+            return copies;
+        }
+        List<List<T>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        Iterator<T> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            List<T> chunk = new ArrayList<>(size);
+            while (chunk.size() < size && iterator.hasNext()) {
+                chunk.add(iterator.next());
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * 分組後以指定的 ForkJoinPool 平行處理，結果依分組順序排列；
+     * 單一分組失敗(RuntimeException)不影響其他分組，錯誤記錄於 ChunkResults.errors；Error 直接拋出
+     *
+     * @param list      list
+     * @param size      每組筆數
+     * @param pool      pool，平行度由呼叫端決定
+     * @param processor 每組的處理
+     * @return ChunkResults<R>
+     * @param <T> T
+     * @param <R> R
+     */
+    public static <T, R> ChunkResults<R> processChunks(List<T> list, int size, ForkJoinPool pool,
+                                                       Function<List<T>, R> processor) {
+        List<List<T>> chunks = partition(list, size);
+        // 在分組內自行捕捉例外，ForkJoinTask.get() 跨執行緒時會重新包裝原本的例外
+        Throwable[] failures = new Throwable[chunks.size()];
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            int index = i;
+            List<T> chunk = chunks.get(i);
+            tasks.add(pool.submit(() -> {
+                try {
+                    return processor.apply(chunk);
+                } catch (RuntimeException e) {
+                    failures[index] = e;
+                    return null;
+                }
+            }));
+        }
+        List<R> results = new ArrayList<>(tasks.size());
+        List<ChunkError> errors = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                R result = tasks.get(i).get();
+                if (failures[i] != null) {
+                    errors.add(new ChunkError(i, (long) i * size, failures[i]));
+                }
+                results.add(result);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error error) {
+                    tasks.forEach(task -> task.cancel(true));
+                    throw error;
+                }
+                results.add(null);
+                errors.add(new ChunkError(i, (long) i * size, e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tasks.forEach(task -> task.cancel(true));
+                throw new CancellationException("Interrupted while waiting for chunk " + i);
+            }
+        }
+        return new ChunkResults<>(Collections.unmodifiableList(results), Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * 分組後平行處理，使用暫時建立的 ForkJoinPool(平行度 parallelism)，處理完即關閉
+     *
+     * @param list        list
+     * @param size        每組筆數
+     * @param parallelism 平行度上限
+     * @param processor   每組的處理
+     * @return ChunkResults<R>
+     * @param <T> T
+     * @param <R> R
+     */
+    public static <T, R> ChunkResults<R> processChunks(List<T> list, int size, int parallelism,
+                                                       Function<List<T>, R> processor) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return processChunks(list, size, pool, processor);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 平行處理結果
+     *
+     * @param results 依分組順序，失敗的分組為 null
+     * @param errors  失敗的分組
+     * @param <R>     R
+     */
+    public record ChunkResults<R>(List<R> results, List<ChunkError> errors) {
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+    }
+
+    /**
+     * 失敗的分組
+     *
+     * @param index  分組序號
+     * @param offset 分組第一筆在原 List 的位置
+     * @param error  error
+     */
+    public record ChunkError(int index, long offset, Throwable error) {}
+
+    private static final class Partition<T> extends AbstractList<List<T>> implements RandomAccess {
+        private final List<T> list;
+        private final int size;
+
+        private Partition(List<T> list, int size) {
+            this.list = list;
+            this.size = size;
+        }
+
+        @Override
+        public List<T> get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            // index < size() 時 index * size < list.size()，不會溢位
+            int from = index * size;
+            return list.subList(from, from + Math.min(size, list.size() - from));
+        }
+
+        @Override
+        public int size() {
+            return (int) ((list.size() + (long) size - 1) / size);
+        }
     }
 
 }
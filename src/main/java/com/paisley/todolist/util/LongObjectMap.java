@@ -0,0 +1,290 @@
+package com.paisley.todolist.util;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * LongObjectMap
+ * long 為 key 的 open addressing(linear probing) 雜湊表，key 不裝箱、每筆不建立節點物件；
+ * 刪除以 backward shift 回填，不留 tombstone。非執行緒安全，多執行緒請用 ConcurrentLongObjectMap
+ **/
+public class LongObjectMap<V> {
+
+    static final float LOAD_FACTOR = 0.7f;
+    static final int MIN_CAPACITY = 8;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    // key 0 表示空位，實際的 key 0 另外存放
+    private long[] keys;
+    private Object[] values;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private int size;
+    private int mask;
+    private int shift;
+    private int resizeAt;
+
+    public LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 預計筆數，達到前不會擴容
+     */
+    public LongObjectMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Fibonacci hashing：取 key * 2^64/φ 的高 64 - shift 位元當位置，連號 id 會均勻散開而不聚集
+     *
+     * @param key   key
+     * @param shift 64 - log2(表格大小)
+     * @return int
+     */
+    static int index(long key, int shift) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * 可容納 expectedSize 筆的表格大小(2 的次方)
+     *
+     * @param expectedSize expectedSize
+     * @return int
+     */
+    static int tableSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        long required = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / (double) LOAD_FACTOR));
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) return hasZeroKey;
+        return slot(key) >= 0;
+    }
+
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int slot = slot(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    /**
+     * 新增或覆蓋
+     *
+     * @param key   key
+     * @param value value
+     * @return V 原值，不存在時為 null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = index(key, shift);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insertAt(slot, key, value);
+        return null;
+    }
+
+    /**
+     * key 不存在時才放入
+     *
+     * @param key   key
+     * @param value value
+     * @return V 原值，不存在時為 null
+     */
+    public V putIfAbsent(long key, V value) {
+        if (containsKey(key)) return get(key);
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * key 不存在時以 mappingFunction 建立並放入，回傳 null 時不放入
+     *
+     * @param key             key
+     * @param mappingFunction mappingFunction
+     * @return V 現值
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                V value = mappingFunction.apply(key);
+                if (value != null) put(key, value);
+                return value;
+            }
+            return zeroValue;
+        }
+        int slot = index(key, shift);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) return (V) values[slot];
+            slot = (slot + 1) & mask;
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+            // mappingFunction 不得修改此 map，空位仍有效
+            insertAt(slot, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 移除
+     *
+     * @param key key
+     * @return V 原值，不存在時為 null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) return null;
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int slot = slot(key);
+        if (slot < 0) return null;
+        V previous = (V) values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    // 表格大小(不含 key 0)
+    int capacity() {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        if (hasZeroKey) action.accept(0L, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        if (hasZeroKey) result[index++] = 0L;
+        for (long key : keys) {
+            if (key != 0) result[index++] = key;
+        }
+        return result;
+    }
+
+    /**
+     * 逐筆處理 key/value，避免 key 裝箱
+     *
+     * @param <V> V
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private int slot(long key) {
+        int slot = index(key, shift);
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertAt(int slot, long key, V value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size - (hasZeroKey ? 1 : 0) > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    // 移除 slot 後，把同一探測鏈上可以前移的項目往前搬，維持「從理想位置到實際位置之間沒有空位」
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        long key;
+        while ((key = keys[next]) != 0) {
+            int ideal = index(key, shift);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("LongObjectMap capacity exceeded: " + size);
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == 0) continue;
+            int slot = index(key, shift);
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+}
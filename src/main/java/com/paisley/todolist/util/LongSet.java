@@ -0,0 +1,166 @@
+package com.paisley.todolist.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * LongSet
+ * long 的 open addressing(linear probing) 集合，不裝箱；刪除以 backward shift 回填，不留 tombstone。非執行緒安全
+ **/
+public class LongSet {
+
+    // 0 表示空位，實際的 0 另外記錄
+    private long[] keys;
+    private boolean hasZero;
+    private int size;
+    private int mask;
+    private int shift;
+    private int resizeAt;
+
+    public LongSet() {
+        this(LongObjectMap.MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 預計筆數，達到前不會擴容
+     */
+    public LongSet(int expectedSize) {
+        allocate(LongObjectMap.tableSize(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) return hasZero;
+        int slot = LongObjectMap.index(value, shift);
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == value) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 加入
+     *
+     * @param value value
+     * @return boolean 原本不存在時為 true
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = LongObjectMap.index(value, shift);
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == value) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++size - (hasZero ? 1 : 0) > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * 移除
+     *
+     * @param value value
+     * @return boolean 原本存在時為 true
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!hasZero) return false;
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int slot = LongObjectMap.index(value, shift);
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == value) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        hasZero = false;
+        size = 0;
+    }
+
+    // 表格大小(不含 key 0)
+    int capacity() {
+        return keys.length;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (hasZero) action.accept(0L);
+        for (long key : keys) {
+            if (key != 0) action.accept(key);
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int index = 0;
+        if (hasZero) result[index++] = 0L;
+        for (long key : keys) {
+            if (key != 0) result[index++] = key;
+        }
+        return result;
+    }
+
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        long key;
+        while ((key = keys[next]) != 0) {
+            int ideal = LongObjectMap.index(key, shift);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > LongObjectMap.MAX_CAPACITY) {
+            throw new IllegalStateException("LongSet capacity exceeded: " + size);
+        }
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (long key : oldKeys) {
+            if (key == 0) continue;
+            int slot = LongObjectMap.index(key, shift);
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = Math.min(capacity - 1, (int) (capacity * LongObjectMap.LOAD_FACTOR));
+    }
+
+}
@@ -4,9 +4,16 @@ import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -22,6 +29,12 @@ public final class StringUtil {
 
     public static final String EMPTY = "";
 
+    // 已編譯 regex 快取上限，超過後不再快取
+    private static final int PATTERN_CACHE_LIMIT = 256;
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+    // 含以下字元的分隔字串才需要走 regex
+    private static final String REGEX_META_CHARS = ".$|()[]{}^?*+\\";
+
     public static byte[] bytes(String text) {
         return text.getBytes(StandardCharsets.UTF_8);
     }
@@ -115,7 +128,25 @@ public final class StringUtil {
      */
     public static boolean matches(String str, String regex) {
         if (isBlank(str)) return false;
-        return str.matches(regex);
+        return pattern(regex).matcher(str).matches();
+    }
+
+    /**
+     * 取得已編譯的 Pattern
+     *
+     * @param regex regex
+     * @return Pattern
+     */
+    public static Pattern pattern(String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            if (PATTERNS.size() < PATTERN_CACHE_LIMIT) {
+                Pattern existing = PATTERNS.putIfAbsent(regex, pattern);
+                if (existing != null) pattern = existing;
+            }
+        }
+        return pattern;
     }
 
     /**
@@ -126,11 +157,34 @@ public final class StringUtil {
      * @return List<String>
      */
     public static List<String> transToList(String data, String regex) {
+        List<String> list = new ArrayList<>();
+        forEachToken(data, regex, list::add);
+        return list;
+    }
+
+    /**
+     * 逐一處理切割後的字串(已trim)，結果與 transToList 相同但不建立中間陣列與 List
+     *
+     * @param data     data
+     * @param regex    regex，不含 regex 特殊字元時以字面字串切割
+     * @param consumer consumer
+     */
+    public static void forEachToken(String data, String regex, Consumer<String> consumer) {
+        tokenIterator(data, regex).forEachRemaining(consumer);
+    }
+
+    /**
+     * 切割字串的 Iterator(已trim)，與 String.split 相同會略過結尾的空字串
+     *
+     * @param data  data
+     * @param regex regex，不含 regex 特殊字元時以字面字串切割
+     * @return Iterator<String>
+     */
+    public static Iterator<String> tokenIterator(String data, String regex) {
         if (isBlank(data)) {
-            return new ArrayList<>();
+            return Collections.emptyIterator();
         }
-        String[] temp = data.split(regex);
-        return Arrays.stream(temp).map(String::trim).collect(Collectors.toList());
+        return isLiteral(regex) ? new TokenIterator(data, regex, null) : new TokenIterator(data, null, pattern(regex).matcher(data));
     }
 
     /**
@@ -277,4 +331,87 @@ public final class StringUtil {
         Arrays.fill(chars, '\u0000');
     }
 
+    private static boolean isLiteral(String regex) {
+        if (regex.isEmpty()) return false;
+        for (int i = 0; i < regex.length(); i++) {
+            if (REGEX_META_CHARS.indexOf(regex.charAt(i)) >= 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 切割字串 Iterator：字面分隔字串以 indexOf 切割，否則以 Matcher.find；
+     * 空字串先暫存計數，遇到非空字串才補送，因此結尾的空字串會被略過(同 String.split)
+     */
+    private static final class TokenIterator implements Iterator<String> {
+        private final String data;
+        private final String literal;
+        private final Matcher matcher;
+        private int position;
+        private boolean exhausted;
+        private int pendingEmpty;
+        private String next;
+
+        private TokenIterator(String data, String literal, Matcher matcher) {
+            this.data = data;
+            this.literal = literal;
+            this.matcher = matcher;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null || peekNonEmpty();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (pendingEmpty > 0) {
+                pendingEmpty--;
+                return EMPTY;
+            }
+            String result = next.trim();
+            next = null;
+            return result;
+        }
+
+        // 讀到下一個非空片段(存於 next)前的空片段數累加至 pendingEmpty
+        private boolean peekNonEmpty() {
+            while (!exhausted) {
+                String token = readToken();
+                if (token == null) break;
+                if (!token.isEmpty()) {
+                    next = token;
+                    return true;
+                }
+                pendingEmpty++;
+            }
+            pendingEmpty = 0;
+            return false;
+        }
+
+        private String readToken() {
+            if (exhausted) return null;
+            if (literal != null) {
+                int index = data.indexOf(literal, position);
+                if (index < 0) {
+                    exhausted = true;
+                    return data.substring(position);
+                }
+                String token = data.substring(position, index);
+                position = index + literal.length();
+                return token;
+            }
+            while (matcher.find()) {
+                // 與 Pattern.split 相同：開頭的零寬度比對不產生空字串
+                if (matcher.end() == 0) continue;
+                String token = data.substring(position, matcher.start());
+                position = matcher.end();
+                return token;
+            }
+            exhausted = true;
+            return data.substring(position);
+        }
+    }
+
 }
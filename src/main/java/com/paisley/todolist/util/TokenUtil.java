@@ -0,0 +1,72 @@
+package com.paisley.todolist.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TokenUtil
+ * 全文檢索斷詞
+ **/
+public final class TokenUtil {
+
+    private TokenUtil() {}
+
+    /**
+     * 斷詞：英數字以連續字元為一詞(轉小寫)，中日韓文字切成單字與相鄰雙字(bigram)
+     *
+     * @param text text
+     * @return List<String> 依出現順序，可重複
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (StringUtil.isBlank(text)) return tokens;
+        StringBuilder word = new StringBuilder();
+        int prevCjk = -1;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                String current = new String(Character.toChars(codePoint));
+                tokens.add(current);
+                if (prevCjk != -1) {
+                    tokens.add(new String(Character.toChars(prevCjk)) + current);
+                }
+                prevCjk = codePoint;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                prevCjk = -1;
+                word.appendCodePoint(codePoint);
+            } else {
+                prevCjk = -1;
+                flushWord(word, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        return tokens;
+    }
+
+    /**
+     * 是否為中日韓文字
+     *
+     * @param codePoint codePoint
+     * @return boolean
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.BOPOMOFO;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (!word.isEmpty()) {
+            tokens.add(word.toString().toLowerCase(Locale.ROOT));
+            word.setLength(0);
+        }
+    }
+
+}
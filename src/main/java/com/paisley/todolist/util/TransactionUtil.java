@@ -0,0 +1,33 @@
+package com.paisley.todolist.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * TransactionUtil
+ * 交易相關的輔助方法
+ **/
+public final class TransactionUtil {
+
+    private TransactionUtil() {}
+
+    /**
+     * 交易中時於 commit 後才執行(rollback 則不執行)；不在交易中時立即執行。
+     * 用於交易外的狀態(快取、記憶體索引、計數器、事件)須與資料庫結果一致的場合
+     *
+     * @param action action
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
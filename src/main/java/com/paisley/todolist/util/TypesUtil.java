@@ -1,8 +1,10 @@
 package com.paisley.todolist.util;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.Set;
 
 import static java.util.Objects.nonNull;
 
@@ -16,10 +18,19 @@ public final class TypesUtil {
 
     private TypesUtil() {}
 
-    // Regular expression for scientific notation.
-    private static final String SCIENTIFIC_NOTATION_REGEX = "[+-]?\\d[.]?\\d*[Ee][+-]?\\d+";
-    // Regular expression for numbers.
-    private static final String NUMBER_PATTERN_REGEX = "^[+-]?\\d+(\\.\\d+)?$";
+    // 數字字串分類(單次掃描，不使用 regex)
+    // 整數：[+-]?\d+
+    private static final int INTEGER = 1;
+    // 小數：[+-]?\d+\.\d+
+    private static final int DECIMAL = 2;
+    // 科學記號：[+-]?\d[.]?\d*[Ee][+-]?\d+
+    private static final int SCIENTIFIC = 3;
+    private static final int INVALID = 0;
+    // long 可完整容納的十進位位數
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final Set<Class<?>> VALID_TYPES = Set.of(String.class, Byte.class, Integer.class, Double.class,
+            Long.class, Float.class, Short.class, BigDecimal.class, BigInteger.class);
 
     /**
      * 轉換字串，若為null則不轉換
@@ -30,13 +41,13 @@ public final class TypesUtil {
     public static String parseStr(Object object) {
         if (object == null || typeInvalid(object))
             return null;
+        if (object instanceof BigDecimal bigDecimal)
+            return bigDecimal.toPlainString();
         String result = String.valueOf(object);
         // Prevent scientific notation issues through self-conversion.
-        if (object instanceof BigDecimal || result.matches(SCIENTIFIC_NOTATION_REGEX)) {
-            BigDecimal resultBd = object instanceof BigDecimal bigDecimal ? bigDecimal : new BigDecimal(result);
-            result = resultBd.toPlainString();
-        } else {
-            result = String.valueOf(object);
+        if ((object instanceof String || object instanceof Double || object instanceof Float)
+                && classify(result) == SCIENTIFIC) {
+            result = new BigDecimal(result).toPlainString();
         }
         return result;
     }
@@ -53,7 +64,10 @@ public final class TypesUtil {
         BigDecimal bigDecimal = null;
         if (object instanceof Number || object instanceof String) {
             String str = StringUtil.defaultBlank(parseStr(object), StringUtil.EMPTY);
-            if (str.matches(NUMBER_PATTERN_REGEX)) {
+            int kind = classify(str);
+            if (kind == INTEGER && digitCount(str) <= MAX_LONG_DIGITS) {
+                bigDecimal = BigDecimal.valueOf(parseLong(str));
+            } else if (kind == INTEGER || kind == DECIMAL) {
                 bigDecimal = new BigDecimal(str);
             }
         }
@@ -76,7 +90,7 @@ public final class TypesUtil {
 
         Integer integer = null;
         String str = StringUtil.defaultBlank(parseStr(object), StringUtil.EMPTY);
-        if (str.matches("[+-]?\\d+")) {
+        if (classify(str) == INTEGER) {
             integer = Integer.parseInt(str);
         }
         return integer;
@@ -112,17 +126,26 @@ public final class TypesUtil {
     public static <T, U> U parseNumber(T number, U defaultValue, Class<U> parseClass) {
         U result = defaultValue;
         String numStr = StringUtil.defaultBlank(parseStr(number), StringUtil.EMPTY);
-        if (number instanceof Number || numStr.matches(NUMBER_PATTERN_REGEX)) {
+        int kind = classify(numStr);
+        if (kind == INTEGER && digitCount(numStr) <= MAX_LONG_DIGITS) {
+            // 整數且在 long 範圍內，不經 BigDecimal 直接轉型(截斷/捨入結果與 BigDecimal 相同)
+            long value = parseLong(numStr);
+            if (parseClass == Integer.class) return parseClass.cast((int) value);
+            if (parseClass == Double.class) return parseClass.cast((double) value);
+            if (parseClass == Long.class) return parseClass.cast(value);
+            if (parseClass == Float.class) return parseClass.cast((float) value);
+            if (parseClass == Short.class) return parseClass.cast((short) value);
+            if (parseClass == BigInteger.class) return parseClass.cast(BigInteger.valueOf(value));
+            return defaultValue;
+        }
+        if (number instanceof Number || kind == INTEGER || kind == DECIMAL) {
             BigDecimal numDecimal = new BigDecimal(numStr);
-            result = switch (parseClass.getSimpleName()) {
-                case "Integer" -> parseClass.cast(numDecimal.intValue());
-                case "Double" -> parseClass.cast(numDecimal.doubleValue());
-                case "Long" -> parseClass.cast(numDecimal.longValue());
-                case "Float" -> parseClass.cast(numDecimal.floatValue());
-                case "Short" -> parseClass.cast(numDecimal.shortValue());
-                case "BigInteger" -> parseClass.cast(numDecimal.toBigInteger());
-                default -> defaultValue;
-            };
+            if (parseClass == Integer.class) result = parseClass.cast(numDecimal.intValue());
+            else if (parseClass == Double.class) result = parseClass.cast(numDecimal.doubleValue());
+            else if (parseClass == Long.class) result = parseClass.cast(numDecimal.longValue());
+            else if (parseClass == Float.class) result = parseClass.cast(numDecimal.floatValue());
+            else if (parseClass == Short.class) result = parseClass.cast(numDecimal.shortValue());
+            else if (parseClass == BigInteger.class) result = parseClass.cast(numDecimal.toBigInteger());
         }
         return result;
     }
@@ -161,11 +184,67 @@ public final class TypesUtil {
     }
 
     private static boolean typeInvalid(Object object) {
-        Class<?> parseClass = object.getClass();
-        return switch (parseClass.getSimpleName()) {
-            case "String", "Byte", "Integer", "Double", "Long", "Float", "Short", "BigDecimal", "BigInteger" -> false;
-            default -> true;
-        };
+        return !VALID_TYPES.contains(object.getClass());
+    }
+
+    /**
+     * 單次掃描判斷數字字串類型
+     *
+     * @param str str
+     * @return INTEGER/DECIMAL/SCIENTIFIC/INVALID
+     */
+    private static int classify(String str) {
+        int length = str.length();
+        int i = 0;
+        if (i < length && (str.charAt(i) == '+' || str.charAt(i) == '-')) i++;
+        int intStart = i;
+        while (i < length && isDigit(str.charAt(i))) i++;
+        int intDigits = i - intStart;
+        if (intDigits == 0) return INVALID;
+        if (i == length) return INTEGER;
+
+        char ch = str.charAt(i);
+        if (ch == '.') {
+            int fractionStart = ++i;
+            while (i < length && isDigit(str.charAt(i))) i++;
+            if (i == length) return i > fractionStart ? DECIMAL : INVALID;
+            ch = str.charAt(i);
+            // 科學記號的小數點只允許出現在第一位數字之後
+            if (intDigits != 1) return INVALID;
+        }
+        if (ch == 'e' || ch == 'E') {
+            i++;
+            if (i < length && (str.charAt(i) == '+' || str.charAt(i) == '-')) i++;
+            int exponentStart = i;
+            while (i < length && isDigit(str.charAt(i))) i++;
+            return i == length && i > exponentStart ? SCIENTIFIC : INVALID;
+        }
+        return INVALID;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static int digitCount(String str) {
+        char first = str.charAt(0);
+        return first == '+' || first == '-' ? str.length() - 1 : str.length();
+    }
+
+    // 僅用於 classify 為 INTEGER 且位數 <= MAX_LONG_DIGITS 的字串
+    private static long parseLong(String str) {
+        int i = 0;
+        boolean negative = false;
+        char first = str.charAt(0);
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            i++;
+        }
+        long value = 0;
+        for (; i < str.length(); i++) {
+            value = value * 10 + (str.charAt(i) - '0');
+        }
+        return negative ? -value : value;
     }
 
 }
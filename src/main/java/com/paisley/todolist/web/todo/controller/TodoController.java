@@ -1,16 +1,41 @@
 package com.paisley.todolist.web.todo.controller;
 
+import com.paisley.todolist.web.todo.domain.TodoBatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoBatchResponse;
+import com.paisley.todolist.web.todo.domain.TodoBulkCompleteRequest;
+import com.paisley.todolist.web.todo.domain.TodoBulkResponse;
+import com.paisley.todolist.web.todo.domain.TodoCacheStatsResponse;
 import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
 import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.domain.TodoPageRequest;
+import com.paisley.todolist.web.todo.domain.TodoPageResponse;
+import com.paisley.todolist.web.todo.domain.TodoPatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoPatchResponse;
+import com.paisley.todolist.web.todo.domain.TodoStatsResponse;
 import com.paisley.todolist.web.todo.domain.TodoUpdateRequest;
 import com.paisley.todolist.web.todo.domain.TodoUpdateResponse;
 import com.paisley.todolist.web.todo.service.TodoService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,22 +43,88 @@ import java.util.List;
 public class TodoController {
 
     private final TodoService todoService;
+    private final ContentNegotiationManager contentNegotiationManager;
 
+    // JSON 與 CBOR 的 ETag 以格式後綴區分，回應加上 Vary: Accept 讓共用快取依格式分開存放
     @GetMapping
-    public List<TodoCreateResponse> getAllTodos() {
-        return todoService.getAllTodos();
+    public ResponseEntity<TodoPageResponse> getTodos(TodoPageRequest request, NativeWebRequest webRequest) {
+        String eTag = withFormat(todoService.getTodosETag(request), webRequest);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(todoService.getTodos(request));
     }
 
+    @GetMapping("/export")
+    public void exportTodos(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        todoService.exportTodos(response.getOutputStream());
+    }
+
+    @GetMapping("/search")
+    public List<TodoCreateResponse> searchTodos(@RequestParam("q") String query,
+                                                @RequestParam(required = false) Integer limit) {
+        return todoService.searchTodos(query, limit);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return todoService.subscribeChanges(lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public TodoStatsResponse getStats() {
+        return todoService.getStats();
+    }
+
+    @GetMapping("/cache/stats")
+    public TodoCacheStatsResponse getCacheStats() {
+        return todoService.getCacheStats();
+    }
+
+    // ETag 由(可能來自快取的)回應本身計算，快取命中時不查詢資料庫
     @GetMapping("/{id}")
-    public ResponseEntity<TodoCreateResponse> getTodoById(@PathVariable Long id) {
-        return todoService.getTodoById(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<TodoCreateResponse> getTodoById(@PathVariable Long id, NativeWebRequest webRequest) {
+        Optional<TodoCreateResponse> todo = todoService.getTodoById(id);
+        if (todo.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = withFormat(TodoService.eTagOf(todo.get()), webRequest);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(todo.get());
     }
 
+    // write-behind 開啟時於 commit 後才完成(servlet async)；關閉時(預設)同步寫入，回傳已完成的 CompletableFuture
     @PostMapping
-    public TodoCreateResponse createTodo(@Valid @RequestBody TodoCreateRequest request) {
-        return todoService.createTodo(request);
+    public CompletableFuture<ResponseEntity<TodoCreateResponse>> createTodo(@Valid @RequestBody TodoCreateRequest request) {
+        if (todoService.isWriteBehindEnabled()) {
+            return todoService.enqueueTodo(request).thenApply(ResponseEntity::ok);
+        }
+        return CompletableFuture.completedFuture(ResponseEntity.ok(todoService.createTodo(request)));
+    }
+
+    @PostMapping("/batch")
+    public TodoBatchResponse batch(@Valid @RequestBody TodoBatchRequest request) {
+        return todoService.batch(request);
+    }
+
+    @PostMapping("/bulk/complete")
+    public TodoBulkResponse markCompleted(@Valid @RequestBody TodoBulkCompleteRequest request) {
+        return todoService.markCompleted(request.getIds());
+    }
+
+    @PostMapping("/bulk/complete-updated-before")
+    public TodoBulkResponse markCompletedUpdatedBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return todoService.markCompletedUpdatedBefore(before);
+    }
+
+    @DeleteMapping("/completed")
+    public TodoBulkResponse deleteCompleted() {
+        return todoService.deleteCompleted();
     }
 
     @PutMapping("/{id}")
@@ -43,10 +134,48 @@ public class TodoController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<TodoPatchResponse> patchTodo(@PathVariable Long id, @Valid @RequestBody TodoPatchRequest request) {
+        return todoService.patchTodo(id, request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTodo(@PathVariable Long id) {
         todoService.deleteTodoById(id);
         return ResponseEntity.noContent().build();
     }
 
+    // strong ETag 代表位元組相同的內容，依協商結果加上 -json / -cbor；converter 順序 JSON 在前，萬用字元時為 JSON
+    private String withFormat(String eTag, NativeWebRequest webRequest) {
+        String format = "json";
+        try {
+            for (MediaType mediaType : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    break;
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    format = "cbor";
+                    break;
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Accept 無法解析時由後續的訊息轉換回應 406
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-" + format + "\"";
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleVersionConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> handleQueueFull() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
 }
@@ -0,0 +1,25 @@
+package com.paisley.todolist.web.todo.domain;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchOperation {
+    @NotNull
+    private Type op;
+    // UPDATE / DELETE 時必填
+    private Long id;
+    private String title;
+    private String description;
+    private String completed;
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+}
@@ -0,0 +1,22 @@
+package com.paisley.todolist.web.todo.domain;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchRequest {
+    // 依序執行的批次操作，單次上限 500 筆
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid TodoBatchOperation> operations;
+}
@@ -0,0 +1,16 @@
+package com.paisley.todolist.web.todo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchResponse {
+    private List<TodoBatchResult> results;
+}
@@ -0,0 +1,24 @@
+package com.paisley.todolist.web.todo.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchResult {
+    private int index;
+    private TodoBatchOperation.Type op;
+    @JsonSerialize(using = TodoWireSerializers.Id.class)
+    private Long id;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID
+    }
+}
@@ -0,0 +1,18 @@
+package com.paisley.todolist.web.todo.domain;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkCompleteRequest {
+    @NotEmpty
+    private List<Long> ids;
+}
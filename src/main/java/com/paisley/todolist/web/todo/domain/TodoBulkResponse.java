@@ -0,0 +1,15 @@
+package com.paisley.todolist.web.todo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkResponse {
+    // 實際異動筆數
+    private int affected;
+}
@@ -0,0 +1,18 @@
+package com.paisley.todolist.web.todo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCacheStatsResponse {
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
@@ -0,0 +1,24 @@
+package com.paisley.todolist.web.todo.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoChangeEvent {
+    // 本次啟動內單調遞增的序號，SSE event id 為 "啟動代號-序號"，與 todo id 無關
+    private long sequence;
+    private Type type;
+    // todo id，與其他回應相同的編碼；BULK_* / RESET 時為 null，客戶端需重新載入列表
+    @JsonSerialize(using = TodoWireSerializers.Id.class)
+    private Long id;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, BULK_UPDATED, BULK_DELETED, RESET
+    }
+}
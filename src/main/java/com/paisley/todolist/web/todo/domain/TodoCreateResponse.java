@@ -1,19 +1,25 @@
 package com.paisley.todolist.web.todo.domain;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
-@Data
+import java.time.LocalDateTime;
+
+// 不可變：getTodoById 快取直接存放並回傳此物件，呼叫端不得修改快取內容
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Jacksonized
 public class TodoCreateResponse {
-    private String id;
+    @JsonSerialize(using = TodoWireSerializers.Id.class)
+    private Long id;
     private String title;
     private String description;
     private String completed;
-    private String createDate;
-    private String updateDate;
+    @JsonSerialize(using = TodoWireSerializers.DateTime.class)
+    private LocalDateTime createDate;
+    @JsonSerialize(using = TodoWireSerializers.DateTime.class)
+    private LocalDateTime updateDate;
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package com.paisley.todolist.web.todo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageResponse {
+    private List<TodoCreateResponse> items;
+    // 下一頁游標，null 表示已無資料
+    private String nextCursor;
+}
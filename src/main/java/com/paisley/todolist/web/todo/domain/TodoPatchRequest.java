@@ -0,0 +1,24 @@
+package com.paisley.todolist.web.todo.domain;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPatchRequest {
+    // 只更新有傳入（非 null）的欄位
+    @Size(min = 1)
+    private String title;
+    private String description;
+    @Size(min = 1, max = 1)
+    private String completed;
+    // 樂觀鎖版本，須與資料庫一致，否則回 409
+    @NotNull
+    private Long version;
+}
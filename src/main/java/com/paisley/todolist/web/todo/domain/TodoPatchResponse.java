@@ -0,0 +1,21 @@
+package com.paisley.todolist.web.todo.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPatchResponse {
+    @JsonSerialize(using = TodoWireSerializers.Id.class)
+    private Long id;
+    private Long version;
+    @JsonSerialize(using = TodoWireSerializers.DateTime.class)
+    private LocalDateTime updateDate;
+}
@@ -0,0 +1,24 @@
+package com.paisley.todolist.web.todo.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatsResponse {
+    private long total;
+    private long completed;
+    private long open;
+    private long createdToday;
+    private long updatedToday;
+    // 最近一次與資料庫校正的時間
+    @JsonSerialize(using = TodoWireSerializers.DateTime.class)
+    private LocalDateTime reconciledAt;
+}
@@ -1,18 +1,24 @@
 package com.paisley.todolist.web.todo.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TodoUpdateResponse {
-    private String id;
+    @JsonSerialize(using = TodoWireSerializers.Id.class)
+    private Long id;
     private String title;
     private String description;
     private String completed;
-    private String updateDate;
+    @JsonSerialize(using = TodoWireSerializers.DateTime.class)
+    private LocalDateTime updateDate;
+    private Long version;
 }
@@ -0,0 +1,52 @@
+package com.paisley.todolist.web.todo.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.paisley.todolist.util.DateUtil;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * 回應 DTO 的 id 與時間欄位：JSON 維持字串(id 十進位字串、時間 yyyy-MM-dd HH:mm:ss)，
+ * 二進位格式(CBOR，JsonGenerator.canWriteBinaryNatively())直接寫數值(id、epoch 毫秒)
+ */
+public final class TodoWireSerializers {
+
+    private TodoWireSerializers() {
+    }
+
+    public static class Id extends StdSerializer<Long> {
+
+        public Id() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (gen.canWriteBinaryNatively()) {
+                gen.writeNumber(value);
+            } else {
+                gen.writeString(value.toString());
+            }
+        }
+    }
+
+    public static class DateTime extends StdSerializer<LocalDateTime> {
+
+        public DateTime() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (gen.canWriteBinaryNatively()) {
+                gen.writeNumber(DateUtil.toEpochMilli(value));
+            } else {
+                gen.writeString(DateUtil.formatDateTime(value));
+            }
+        }
+    }
+
+}
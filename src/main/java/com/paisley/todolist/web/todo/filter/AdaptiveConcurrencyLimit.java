@@ -0,0 +1,163 @@
+package com.paisley.todolist.web.todo.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * AdaptiveConcurrencyLimit
+ * 依延遲自動調整的同時處理上限(gradient 演算法，近似 Netflix concurrency-limits 的 Gradient2)：
+ * 長期平均延遲 / 目前視窗平均延遲 的比值(gradient)小於 1 時縮小上限，延遲穩定且接近滿載時以 sqrt(limit) 的幅度成長；
+ * 視窗內有失敗(drop)時改以乘法遞減(AIMD)。
+ * 取得/歸還以 CAS 與 LongAdder 計數，不加鎖；每個視窗結束時由搶到 CAS 的單一執行緒更新上限
+ **/
+public class AdaptiveConcurrencyLimit {
+
+    // 目前延遲超過長期平均的 1.5 倍才開始縮小上限
+    private static final double TOLERANCE = 1.5;
+    // 新上限與舊上限的加權
+    private static final double SMOOTHING = 0.2;
+    // 長期平均延遲的 EMA 權重(約 20 個視窗)
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+    // 視窗內有失敗時上限乘以此比例
+    private static final double BACKOFF_RATIO = 0.9;
+    // 每個視窗至少要有的樣本數，不足時延長視窗
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0);
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong nextUpdate;
+
+    // 只由取得視窗更新權的執行緒寫入；各視窗可能由不同執行緒更新，需 volatile 才看得到前一次的值
+    private volatile double limit;
+    private volatile double longRtt;
+
+    /**
+     * @param initialLimit 初始上限
+     * @param minLimit     下限
+     * @param maxLimit     上限的上限
+     * @param windowMillis 取樣視窗長度
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+        this(initialLimit, minLimit, maxLimit, windowMillis, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowMillis, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.nextUpdate = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    /**
+     * 未達上限時佔用一個名額，成功者須以 release 歸還
+     *
+     * @return boolean 是否取得
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        peakInFlight.accumulate(current + 1);
+        return true;
+    }
+
+    /**
+     * 目前時間(與 release 的 startNanos 同一時鐘)
+     *
+     * @return long
+     */
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * 歸還名額並記錄一筆樣本
+     *
+     * @param startNanos tryAcquire 成功時的 now()
+     * @param dropped    是否為過載徵兆(逾時、503 等)，不計入延遲
+     */
+    public void release(long startNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        if (dropped) {
+            drops.increment();
+        } else {
+            rttSum.add(now - startNanos);
+            samples.increment();
+        }
+        long deadline = nextUpdate.get();
+        if (now - deadline >= 0
+                && samples.sum() + drops.sum() >= MIN_WINDOW_SAMPLES
+                && nextUpdate.compareAndSet(deadline, now + windowNanos)) {
+            update();
+        }
+    }
+
+    /**
+     * 歸還名額但不記錄樣本：與負載無關的失敗(例外、一般 5xx)，延遲不具代表性也不該縮小上限
+     */
+    public void ignore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    // 視窗結束：依延遲梯度或失敗調整上限；並行中的 release 可能落到下一個視窗，不影響收斂
+    private void update() {
+        long count = samples.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        long dropCount = drops.sumThenReset();
+        long peak = peakInFlight.getThenReset();
+        double current = limit;
+        double next;
+        if (dropCount > 0) {
+            next = current * BACKOFF_RATIO;
+        } else {
+            if (count == 0) return;
+            double shortRtt = Math.max(1.0, (double) sum / count);
+            longRtt = longRtt == 0 ? shortRtt : longRtt * (1 - LONG_RTT_SMOOTHING) + shortRtt * LONG_RTT_SMOOTHING;
+            // 負載下降後延遲明顯低於長期平均時，加速讓長期平均跟上
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            // 使用量不到一半時沒有資訊判斷能否再承載更多，維持原上限
+            if (peak < current / 2) return;
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            next = current * (1 - SMOOTHING) + (current * gradient + Math.sqrt(current)) * SMOOTHING;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.paisley.todolist.web.todo.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * todo API 的同時處理上限：讀取(GET/HEAD)與寫入各自一個 AdaptiveConcurrencyLimit，
+ * 超過上限立即回應 rejectStatus 與 Retry-After，不進入 controller。
+ * 非同步請求(CompletableFuture)於完成時才歸還名額。dropStatuses(預設 503/504)與非同步逾時視為過載(drop)；
+ * 其他 5xx 與例外多半是程式錯誤，只歸還名額不取樣
+ */
+public class TodoConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final int rejectStatus;
+    private final String retryAfterSeconds;
+    private final Set<String> excludedPaths;
+    private final Set<Integer> dropStatuses;
+
+    public TodoConcurrencyLimitFilter(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit,
+                                      int rejectStatus, int retryAfterSeconds, Set<String> excludedPaths,
+                                      Set<Integer> dropStatuses) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.rejectStatus = rejectStatus;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.excludedPaths = excludedPaths;
+        this.dropStatuses = dropStatuses;
+    }
+
+    // 長連線(SSE)與長時間串流(匯出)不受限，也不納入延遲樣本
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excludedPaths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = isRead(request) ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            response.setStatus(rejectStatus);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+        long start = limit.now();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed) {
+                limit.ignore();
+            } else if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limit, start, dropStatuses));
+            } else {
+                release(limit, start, response.getStatus(), false, dropStatuses);
+            }
+        }
+    }
+
+    private static void release(AdaptiveConcurrencyLimit limit, long start, int status, boolean timedOut,
+                                Set<Integer> dropStatuses) {
+        if (timedOut || dropStatuses.contains(status)) {
+            limit.release(start, true);
+        } else if (status >= 500) {
+            limit.ignore();
+        } else {
+            limit.release(start, false);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    // onError/onTimeout 之後一定還會有 onComplete，只在 onComplete 歸還一次
+    private static class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start;
+        private final Set<Integer> dropStatuses;
+        private volatile boolean timedOut;
+
+        ReleaseOnComplete(AdaptiveConcurrencyLimit limit, long start, Set<Integer> dropStatuses) {
+            this.limit = limit;
+            this.start = start;
+            this.dropStatuses = dropStatuses;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(limit, start, response.getStatus(), timedOut, dropStatuses);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            timedOut = true;
+        }
+
+        // 錯誤依最終狀態碼判斷
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+}
@@ -0,0 +1,338 @@
+package com.paisley.todolist.web.todo.repository;
+
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.dao.store.TodoLogStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * profile mmap：以 memory-mapped append-only 記錄檔(TodoLogStore)取代 JPA/H2 的 TodoRepository。
+ * 寫入立即落檔，不參與 Spring 交易 rollback；多筆需全有或全無時以 atomically 合併為一筆記錄
+ */
+@Slf4j
+@Primary
+@Repository
+@Profile("mmap")
+public class MappedTodoRepository implements TodoStore {
+
+    private final TodoLogStore store;
+    private final long compactIntervalMillis;
+    private final double compactGarbageRatio;
+    private final long compactMinBytes;
+    private final ScheduledExecutorService compactor;
+
+    public MappedTodoRepository(@Value("${todo.store.path:data/todos.log}") String path,
+                                @Value("${todo.store.initial-size:67108864}") int initialSize,
+                                @Value("${todo.store.sync-writes:false}") boolean syncWrites,
+                                @Value("${todo.store.compact-interval-ms:60000}") long compactIntervalMillis,
+                                @Value("${todo.store.compact-garbage-ratio:0.5}") double compactGarbageRatio,
+                                @Value("${todo.store.compact-min-bytes:1048576}") long compactMinBytes) {
+        this.store = new TodoLogStore(Path.of(path), initialSize, syncWrites);
+        this.compactIntervalMillis = compactIntervalMillis;
+        this.compactGarbageRatio = compactGarbageRatio;
+        this.compactMinBytes = compactMinBytes;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void open() {
+        store.open();
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded, compactIntervalMillis, compactIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void close() {
+        compactor.shutdownNow();
+        store.close();
+    }
+
+    /**
+     * 無效記錄超過門檻時壓實
+     */
+    public void compactIfNeeded() {
+        try {
+            if (store.garbageBytes() >= compactMinBytes && store.garbageRatio() >= compactGarbageRatio) {
+                store.compact();
+            }
+        } catch (RuntimeException e) {
+            log.error("Todo log compaction failed", e);
+        }
+    }
+
+    @Override
+    public List<TodoView> findPage(long afterId, Limit limit) {
+        return pageById(afterId, null, limit);
+    }
+
+    @Override
+    public List<TodoView> findPageByCompleted(String completed, long afterId, Limit limit) {
+        return pageById(afterId, completed, limit);
+    }
+
+    @Override
+    public List<TodoView> findPageByUpdateDate(LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                                               LocalDateTime afterUpdateDate, long afterId, Limit limit) {
+        return pageByUpdateDate(null, updatedFrom, updatedTo, afterUpdateDate, afterId, limit);
+    }
+
+    @Override
+    public List<TodoView> findPageByCompletedAndUpdateDate(String completed, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                                                           LocalDateTime afterUpdateDate, long afterId, Limit limit) {
+        return pageByUpdateDate(completed, updatedFrom, updatedTo, afterUpdateDate, afterId, limit);
+    }
+
+    @Override
+    public Optional<TodoView> findViewById(Long id) {
+        return store.get(id).map(TodoView::of);
+    }
+
+    @Override
+    public List<TodoView> findViewsByIds(Collection<Long> ids) {
+        return findAllById(ids).stream().map(TodoView::of).toList();
+    }
+
+    @Override
+    public TodoTableVersion findTableVersion() {
+        long count = store.size();
+        Long maxId = store.maxId();
+        LocalDateTime maxUpdateDate = store.maxUpdateDate();
+        return new TodoTableVersion() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+
+            @Override
+            public LocalDateTime getMaxUpdateDate() {
+                return maxUpdateDate;
+            }
+        };
+    }
+
+    @Override
+    public TodoCounts countStats(LocalDateTime todayStart) {
+        // 與 streamAll 相同，依 id 快照逐筆讀取，不在整表掃描期間持有讀鎖
+        long[] counts = new long[4];
+        try (Stream<Todo> todos = entities()) {
+            todos.forEach(todo -> {
+                counts[0]++;
+                if ("Y".equals(todo.getCompleted())) counts[1]++;
+                if (!todo.getCreateDate().isBefore(todayStart)) counts[2]++;
+                if (!todo.getUpdateDate().isBefore(todayStart)) counts[3]++;
+            });
+        }
+        return new TodoCounts() {
+            @Override
+            public long getTotal() {
+                return counts[0];
+            }
+
+            @Override
+            public long getCompleted() {
+                return counts[1];
+            }
+
+            @Override
+            public long getCreatedToday() {
+                return counts[2];
+            }
+
+            @Override
+            public long getUpdatedToday() {
+                return counts[3];
+            }
+        };
+    }
+
+    // 依 id 快照逐筆讀取，走訪期間不持有鎖
+    @Override
+    public Stream<TodoView> streamAll() {
+        return entities().map(TodoView::of);
+    }
+
+    @Override
+    public int markCompletedByIds(Collection<Long> ids, LocalDateTime now) {
+        return store.updateAll(ids, todo -> "Y".equals(todo.getCompleted()) ? null : completed(todo, now));
+    }
+
+    @Override
+    public int markCompletedUpdatedBefore(LocalDateTime before, LocalDateTime now) {
+        return store.updateAll(store.ids(), todo ->
+                "Y".equals(todo.getCompleted()) || !todo.getUpdateDate().isBefore(before) ? null : completed(todo, now));
+    }
+
+    @Override
+    public int patch(Long id, Long version, String title, String description, String completed, LocalDateTime now) {
+        Todo patched = store.update(id, todo -> {
+            if (todo == null || !Objects.equals(todo.getVersion(), version)) return null;
+            if (title != null) todo.setTitle(title);
+            if (description != null) todo.setDescription(description);
+            if (completed != null) todo.setCompleted(completed);
+            todo.setUpdateDate(now);
+            todo.setVersion(todo.getVersion() + 1);
+            return todo;
+        });
+        return patched == null ? 0 : 1;
+    }
+
+    @Override
+    public int deleteCompleted() {
+        return store.updateAll(store.ids(), todo -> {
+            if (!"Y".equals(todo.getCompleted())) return null;
+            todo.setId(null);
+            return todo;
+        });
+    }
+
+    @Override
+    public int deleteDirectlyById(Long id) {
+        return store.delete(id) ? 1 : 0;
+    }
+
+    // 同 JPA：id 為 null 時新增並配置 id；否則比對版本後 version + 1，版本不符或已刪除丟出 ObjectOptimisticLockingFailureException
+    @Override
+    public <S extends Todo> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(store.nextId());
+            entity.setVersion(0L);
+            store.put(entity);
+            return entity;
+        }
+        store.update(entity.getId(), current -> {
+            if (current == null || !Objects.equals(current.getVersion(), entity.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Todo.class, entity.getId());
+            }
+            entity.setVersion(current.getVersion() + 1);
+            return entity;
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends Todo> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        List<Todo> created = new ArrayList<>();
+        for (S entity : entities) {
+            if (entity.getId() == null) {
+                entity.setId(store.nextId());
+                entity.setVersion(0L);
+                created.add(entity);
+            } else {
+                save(entity);
+            }
+            saved.add(entity);
+        }
+        if (!created.isEmpty()) store.putAll(created);
+        return saved;
+    }
+
+    @Override
+    public Optional<Todo> findById(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.contains(id);
+    }
+
+    @Override
+    public List<Todo> findAllById(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .filter(Objects::nonNull)
+                .map(store::get)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public void delete(Todo entity) {
+        store.delete(entity.getId());
+    }
+
+    @Override
+    public <T> T atomically(Supplier<T> work) {
+        return store.atomically(work);
+    }
+
+    // 依 id 順序掃描，湊滿一頁即停止
+    private List<TodoView> pageById(long afterId, String completed, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        List<TodoView> page = new ArrayList<>(Math.min(max, 256));
+        store.scan(afterId, todo -> {
+            if (completed == null || completed.equals(todo.getCompleted())) {
+                page.add(TodoView.of(todo));
+            }
+            return page.size() < max;
+        });
+        return page;
+    }
+
+    // 日誌檔沒有更新日期索引：整表掃描，以大小為 limit 的 heap 保留 (updateDate, id) 最小的一頁
+    private List<TodoView> pageByUpdateDate(String completed, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                                            LocalDateTime afterUpdateDate, long afterId, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        Comparator<TodoView> order = Comparator.comparing(TodoView::updateDate).thenComparing(TodoView::id);
+        PriorityQueue<TodoView> heap = new PriorityQueue<>(order.reversed());
+        try (Stream<Todo> todos = entities()) {
+            todos.forEach(todo -> {
+                LocalDateTime updateDate = todo.getUpdateDate();
+                if ((completed == null || completed.equals(todo.getCompleted()))
+                        && !updateDate.isBefore(updatedFrom) && updateDate.isBefore(updatedTo)
+                        && (updateDate.isAfter(afterUpdateDate) || updateDate.isEqual(afterUpdateDate) && todo.getId() > afterId)) {
+                    heap.add(TodoView.of(todo));
+                    if (heap.size() > max) heap.poll();
+                }
+            });
+        }
+        List<TodoView> page = new ArrayList<>(heap);
+        page.sort(order);
+        return page;
+    }
+
+    private Stream<Todo> entities() {
+        return store.ids().stream()
+                .map(store::get)
+                .flatMap(Optional::stream);
+    }
+
+    private static Todo completed(Todo todo, LocalDateTime now) {
+        todo.setCompleted("Y");
+        todo.setUpdateDate(now);
+        todo.setVersion(todo.getVersion() + 1);
+        return todo;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.paisley.todolist.web.todo.repository;
+
+/**
+ * todos 統計投影：總筆數、已完成筆數、今日新增/今日異動筆數(依 createDate/updateDate 不早於當日 00:00)
+ */
+public interface TodoCounts {
+    long getTotal();
+
+    long getCompleted();
+
+    long getCreatedToday();
+
+    long getUpdatedToday();
+}
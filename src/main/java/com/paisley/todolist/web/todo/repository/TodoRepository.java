@@ -1,8 +1,131 @@
 package com.paisley.todolist.web.todo.repository;
 
 import com.paisley.todolist.dao.model.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoStore {
+
+    // 讀取用 select 子句：以 TodoView 投影取欄位，不載入 entity
+    String SELECT_VIEW = """
+            select new com.paisley.todolist.web.todo.repository.TodoView(
+                t.id, t.title, t.description, t.completed, t.createDate, t.updateDate, t.version)
+            from Todo t
+            """;
+
+    // Keyset 分頁：每種篩選組合各一個查詢，讓條件與排序對上同一個索引，每頁只掃描 limit 筆
+    // 無篩選：主鍵 range scan
+    @Query(SELECT_VIEW + "where t.id > :afterId order by t.id")
+    List<TodoView> findPage(@Param("afterId") long afterId, Limit limit);
+
+    // 依完成狀態：idx_todos_completed_id；排序帶上 completed，H2 才會認定索引已排序而不回頭排序整個範圍
+    @Query(SELECT_VIEW + "where t.completed = :completed and t.id > :afterId order by t.completed, t.id")
+    List<TodoView> findPageByCompleted(@Param("completed") String completed,
+                                       @Param("afterId") long afterId,
+                                       Limit limit);
+
+    // 依更新日期區間：idx_todos_update_date_id，游標為上一頁最後一筆的 (updateDate, id)
+    @Query(SELECT_VIEW + """
+            where t.updateDate >= :updatedFrom and t.updateDate < :updatedTo
+              and t.updateDate >= :afterUpdateDate
+              and (t.updateDate > :afterUpdateDate or t.id > :afterId)
+            order by t.updateDate, t.id
+            """)
+    List<TodoView> findPageByUpdateDate(@Param("updatedFrom") LocalDateTime updatedFrom,
+                                        @Param("updatedTo") LocalDateTime updatedTo,
+                                        @Param("afterUpdateDate") LocalDateTime afterUpdateDate,
+                                        @Param("afterId") long afterId,
+                                        Limit limit);
+
+    // 完成狀態 + 更新日期區間：idx_todos_completed_update_date_id
+    @Query(SELECT_VIEW + """
+            where t.completed = :completed
+              and t.updateDate >= :updatedFrom and t.updateDate < :updatedTo
+              and t.updateDate >= :afterUpdateDate
+              and (t.updateDate > :afterUpdateDate or t.id > :afterId)
+            order by t.completed, t.updateDate, t.id
+            """)
+    List<TodoView> findPageByCompletedAndUpdateDate(@Param("completed") String completed,
+                                                    @Param("updatedFrom") LocalDateTime updatedFrom,
+                                                    @Param("updatedTo") LocalDateTime updatedTo,
+                                                    @Param("afterUpdateDate") LocalDateTime afterUpdateDate,
+                                                    @Param("afterId") long afterId,
+                                                    Limit limit);
+
+    @Query(SELECT_VIEW + "where t.id = :id")
+    Optional<TodoView> findViewById(@Param("id") Long id);
+
+    // 全文檢索結果：單次 IN 查詢，順序不保證
+    @Query(SELECT_VIEW + "where t.id in :ids")
+    List<TodoView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    // 列表 ETag 用：整表版本
+    @Query("select count(t) as count, max(t.id) as maxId, max(t.updateDate) as maxUpdateDate from Todo t")
+    TodoTableVersion findTableVersion();
+
+    // 統計計數器初始化與校正用：單次整表彙總
+    @Query("""
+            select count(t) as total,
+                   coalesce(sum(case when t.completed = 'Y' then 1 else 0 end), 0) as completed,
+                   coalesce(sum(case when t.createDate >= :todayStart then 1 else 0 end), 0) as createdToday,
+                   coalesce(sum(case when t.updateDate >= :todayStart then 1 else 0 end), 0) as updatedToday
+            from Todo t
+            """)
+    TodoCounts countStats(@Param("todayStart") LocalDateTime todayStart);
+
+    // 匯出與索引重建用：串流讀取全部資料，呼叫端需在交易內使用並關閉 Stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + "order by t.id")
+    Stream<TodoView> streamAll();
+
+    // 以單一 UPDATE 將指定 id 標記為完成，不先讀取 entity
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.completed = 'Y', t.updateDate = :now, t.version = t.version + 1 where t.id in :ids and t.completed <> 'Y'")
+    int markCompletedByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 將更新日期早於指定時間的未完成項目標記為完成
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.completed = 'Y', t.updateDate = :now, t.version = t.version + 1 where t.updateDate < :before and t.completed <> 'Y'")
+    int markCompletedUpdatedBefore(@Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+
+    // 部分更新：null 欄位保留原值，版本不符時異動 0 筆
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Todo t
+            set t.title = coalesce(:title, t.title),
+                t.description = coalesce(:description, t.description),
+                t.completed = coalesce(:completed, t.completed),
+                t.updateDate = :now,
+                t.version = t.version + 1
+            where t.id = :id and t.version = :version
+            """)
+    int patch(@Param("id") Long id,
+              @Param("version") Long version,
+              @Param("title") String title,
+              @Param("description") String description,
+              @Param("completed") String completed,
+              @Param("now") LocalDateTime now);
+
+    // 以單一 DELETE 刪除全部已完成項目
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.completed = 'Y'")
+    int deleteCompleted();
+
+    // 直接以 id 刪除，不同於 deleteById 不會先 SELECT 載入 entity
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
 }
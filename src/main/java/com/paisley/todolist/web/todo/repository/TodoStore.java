@@ -0,0 +1,72 @@
+package com.paisley.todolist.web.todo.repository;
+
+import com.paisley.todolist.dao.model.Todo;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * TodoService、TodoStats、TodoWriteBehindWriter 使用的儲存操作；
+ * 由 JPA 的 TodoRepository 與 profile mmap 的 MappedTodoRepository 實作
+ */
+public interface TodoStore {
+
+    <S extends Todo> S save(S entity);
+
+    <S extends Todo> List<S> saveAll(Iterable<S> entities);
+
+    Optional<Todo> findById(Long id);
+
+    boolean existsById(Long id);
+
+    List<Todo> findAllById(Iterable<Long> ids);
+
+    void delete(Todo entity);
+
+    List<TodoView> findPage(long afterId, Limit limit);
+
+    List<TodoView> findPageByCompleted(String completed, long afterId, Limit limit);
+
+    List<TodoView> findPageByUpdateDate(LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                                        LocalDateTime afterUpdateDate, long afterId, Limit limit);
+
+    List<TodoView> findPageByCompletedAndUpdateDate(String completed, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                                                    LocalDateTime afterUpdateDate, long afterId, Limit limit);
+
+    Optional<TodoView> findViewById(Long id);
+
+    List<TodoView> findViewsByIds(Collection<Long> ids);
+
+    TodoTableVersion findTableVersion();
+
+    TodoCounts countStats(LocalDateTime todayStart);
+
+    // 呼叫端需關閉 Stream
+    Stream<TodoView> streamAll();
+
+    int markCompletedByIds(Collection<Long> ids, LocalDateTime now);
+
+    int markCompletedUpdatedBefore(LocalDateTime before, LocalDateTime now);
+
+    int patch(Long id, Long version, String title, String description, String completed, LocalDateTime now);
+
+    int deleteCompleted();
+
+    int deleteDirectlyById(Long id);
+
+    /**
+     * work 內的寫入全部生效或全部不生效。JPA 由外層交易保證，直接執行
+     *
+     * @param work work
+     * @return T
+     * @param <T> T
+     */
+    default <T> T atomically(Supplier<T> work) {
+        return work.get();
+    }
+}
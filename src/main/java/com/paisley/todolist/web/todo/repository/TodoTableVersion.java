@@ -0,0 +1,14 @@
+package com.paisley.todolist.web.todo.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * todos 整表版本投影：筆數、最大 id、最近更新時間，任一新增/修改/刪除都會使其改變
+ */
+public interface TodoTableVersion {
+    long getCount();
+
+    Long getMaxId();
+
+    LocalDateTime getMaxUpdateDate();
+}
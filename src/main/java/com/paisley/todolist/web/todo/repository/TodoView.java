@@ -0,0 +1,22 @@
+package com.paisley.todolist.web.todo.repository;
+
+import com.paisley.todolist.dao.model.Todo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 讀取用投影：JPQL constructor expression 直接建立，不產生 managed entity 與 dirty checking 快照
+ */
+public record TodoView(Long id,
+                       String title,
+                       String description,
+                       String completed,
+                       LocalDateTime createDate,
+                       LocalDateTime updateDate,
+                       Long version) {
+
+    public static TodoView of(Todo todo) {
+        return new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getCompleted(),
+                todo.getCreateDate(), todo.getUpdateDate(), todo.getVersion());
+    }
+}
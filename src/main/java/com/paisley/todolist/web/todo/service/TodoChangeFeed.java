@@ -0,0 +1,208 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.util.TransactionUtil;
+import com.paisley.todolist.web.todo.domain.TodoChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 待辦事項異動事件流(SSE)：保留最近 N 筆事件供 Last-Event-ID 續傳，每個訂閱者有獨立有界緩衝，滿了即斷線。
+ * event id 為 "啟動代號-序號"，重啟後序號歸零，帶舊啟動代號的續傳一律回 RESET；定期送出註解行(heartbeat)以偵測已斷線的訂閱者
+ */
+@Slf4j
+@Component
+public class TodoChangeFeed {
+
+    // 放入訂閱者佇列的 heartbeat 標記，與事件依序送出
+    private static final TodoChangeEvent HEARTBEAT = new TodoChangeEvent();
+
+    private final TodoChangeEvent[] ring;
+    private final int subscriberBuffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    // 本次啟動代號
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long sequence;
+
+    public TodoChangeFeed(@Value("${todo.changes.ring-size:1024}") int ringSize,
+                          @Value("${todo.changes.subscriber-buffer:256}") int subscriberBuffer,
+                          @Value("${todo.changes.sender-threads:4}") int senderThreads,
+                          @Value("${todo.changes.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.ring = new TodoChangeEvent[ringSize];
+        this.subscriberBuffer = subscriberBuffer;
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "todo-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 發佈事件；有交易時於 commit 後發佈，rollback 則不發佈
+     *
+     * @param type type
+     * @param id   id，批次異動時為 null
+     */
+    public void publish(TodoChangeEvent.Type type, Long id) {
+        TransactionUtil.afterCommit(() -> append(type, id));
+    }
+
+    /**
+     * 訂閱；lastEventId 不為 null 時先補送其後的事件。
+     * 已超出保留範圍、來自其他啟動(重啟前)、比目前序號還新或無法解析時送 RESET
+     *
+     * @param lastEventId SSE Last-Event-ID
+     * @return SseEmitter
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(0L));
+    }
+
+    // package-private 供測試注入 emitter
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(subscriberBuffer));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                long last = sequenceOf(lastEventId);
+                long oldest = Math.max(1, sequence - ring.length + 1);
+                if (last < 0 || last > sequence || last + 1 < oldest || sequence - last > subscriberBuffer) {
+                    subscriber.queue().offer(TodoChangeEvent.builder()
+                            .sequence(sequence)
+                            .type(TodoChangeEvent.Type.RESET)
+                            .build());
+                } else {
+                    for (long seq = last + 1; seq <= sequence; seq++) {
+                        subscriber.queue().offer(ring[(int) (seq % ring.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 序號對應的 SSE event id
+     *
+     * @param sequence sequence
+     * @return String
+     */
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        senders.shutdownNow();
+    }
+
+    // 本次啟動的 event id 回傳其序號，其他格式或其他啟動回傳 -1
+    private long sequenceOf(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash <= 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // 佇列已滿的訂閱者跳過，下一次 publish 時會因消費太慢被斷線
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue().offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private synchronized void append(TodoChangeEvent.Type type, Long id) {
+        TodoChangeEvent event = TodoChangeEvent.builder()
+                .sequence(++sequence)
+                .type(type)
+                .id(id)
+                .build();
+        ring[(int) (event.getSequence() % ring.length)] = event;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue().offer(event)) {
+                schedule(subscriber);
+            } else {
+                // 消費太慢，斷線讓客戶端以 Last-Event-ID 重連
+                log.warn("Dropping slow change-feed subscriber ({} buffered events)", subscriberBuffer);
+                subscribers.remove(subscriber);
+                subscriber.emitter().complete();
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            TodoChangeEvent event;
+            while ((event = subscriber.queue().poll()) != null) {
+                if (event == HEARTBEAT) {
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter().send(SseEmitter.event()
+                            .id(eventId(event.getSequence()))
+                            .name(event.getType().name())
+                            .data(event));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // drain 結束與 draining 重置之間可能有新事件進來
+        schedule(subscriber);
+    }
+
+    private record Subscriber(SseEmitter emitter, BlockingQueue<TodoChangeEvent> queue, AtomicBoolean draining) {
+        Subscriber(SseEmitter emitter, BlockingQueue<TodoChangeEvent> queue) {
+            this(emitter, queue, new AtomicBoolean());
+        }
+    }
+
+}
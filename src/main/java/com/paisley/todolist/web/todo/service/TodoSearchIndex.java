@@ -0,0 +1,215 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.util.LongObjectMap;
+import com.paisley.todolist.util.TokenUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 待辦事項標題/描述的記憶體反向索引，以 BM25 排序；由 TodoService 於新增/修改/刪除 commit 後維護。
+ * 查詢成本與最短 posting(最稀有詞，或前綴展開後的合併結果)的文件數成正比，常見詞或短前綴單獨查詢時即為命中筆數
+ */
+@Component
+public class TodoSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 標題詞頻加權
+    private static final int TITLE_BOOST = 2;
+    // 最後一個英文詞做前綴展開時最多展開的詞數
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (todo id -> 加權詞頻)
+    private final NavigableMap<String, LongObjectMap<Integer>> postings = new TreeMap<>();
+    private final LongObjectMap<Doc> docs = new LongObjectMap<>();
+    private long totalLength;
+
+    private record Doc(String title, String description, Map<String, Integer> termFrequencies, int length) {}
+
+    /**
+     * 新增或覆蓋索引
+     *
+     * @param id          id
+     * @param title       title
+     * @param description description
+     */
+    public void put(Long id, String title, String description) {
+        Doc doc = newDoc(title, description);
+        lock.writeLock().lock();
+        try {
+            putLocked(id, doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 部分更新索引，null 欄位沿用索引內原值；不存在的 id 不處理
+     *
+     * @param id          id
+     * @param title       title
+     * @param description description
+     */
+    public void merge(Long id, String title, String description) {
+        if (title == null && description == null) return;
+        // 斷詞在鎖外進行；寫入時原文件已被其他執行緒換掉則以新值重來(compare-and-set)，並行的 merge 不會互相覆蓋
+        while (true) {
+            Doc current;
+            lock.readLock().lock();
+            try {
+                current = docs.get(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (current == null) return;
+            Doc merged = newDoc(title != null ? title : current.title(),
+                    description != null ? description : current.description());
+            lock.writeLock().lock();
+            try {
+                if (docs.get(id) == current) {
+                    putLocked(id, merged);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 移除索引
+     *
+     * @param id id
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查詢：所有詞皆須命中(AND)，最後一個英文詞視為前綴，依 BM25 分數由高到低回傳 id
+     *
+     * @param query query
+     * @param limit 回傳上限
+     * @return List<Long>
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = TokenUtil.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) return List.of();
+        String last = terms.get(terms.size() - 1);
+        boolean prefixLast = !TokenUtil.isCjk(last.codePointAt(0));
+
+        lock.readLock().lock();
+        try {
+            List<LongObjectMap<Integer>> termPostings = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                LongObjectMap<Integer> posting = i == terms.size() - 1 && prefixLast
+                        ? prefixPosting(terms.get(i))
+                        : postings.get(terms.get(i));
+                if (posting == null || posting.isEmpty()) return List.of();
+                termPostings.add(posting);
+            }
+            // 由最短的 posting 開始取交集，候選數上限為最稀有詞的文件數
+            termPostings.sort(Comparator.comparingInt(LongObjectMap::size));
+            double avgLength = docs.isEmpty() ? 1 : (double) totalLength / docs.size();
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            termPostings.get(0).forEach((id, ignored) -> {
+                double score = 0;
+                int length = docs.get(id).length();
+                for (LongObjectMap<Integer> posting : termPostings) {
+                    Integer tf = posting.get(id);
+                    if (tf == null) return;
+                    double idf = Math.log(1 + (docs.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                    score += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+                }
+                top.offer(Map.entry(id, score));
+                if (top.size() > limit) top.poll();
+            });
+            List<Long> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) ids.add(0, top.poll().getKey());
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 前綴展開：合併最多 MAX_PREFIX_EXPANSION 個詞的 posting，成本為這些詞的命中筆數總和
+    private LongObjectMap<Integer> prefixPosting(String prefix) {
+        LongObjectMap<Integer> merged = new LongObjectMap<>();
+        int expanded = 0;
+        for (Map.Entry<String, LongObjectMap<Integer>> entry : postings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || expanded++ >= MAX_PREFIX_EXPANSION) break;
+            entry.getValue().forEach((id, tf) -> {
+                Integer current = merged.get(id);
+                if (current == null || current < tf) merged.put(id, tf);
+            });
+        }
+        return merged;
+    }
+
+    private static Doc newDoc(String title, String description) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        TokenUtil.tokenize(title).forEach(term -> termFrequencies.merge(term, TITLE_BOOST, Integer::sum));
+        TokenUtil.tokenize(description).forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        return new Doc(title, description, termFrequencies, length);
+    }
+
+    private void putLocked(Long id, Doc doc) {
+        removeLocked(id);
+        docs.put(id, doc);
+        doc.termFrequencies().forEach((term, tf) -> postings.computeIfAbsent(term, k -> new LongObjectMap<>()).put(id, tf));
+        totalLength += doc.length();
+    }
+
+    private void removeLocked(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) return;
+        totalLength -= doc.length();
+        doc.termFrequencies().keySet().forEach(term -> {
+            LongObjectMap<Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) postings.remove(term);
+            }
+        });
+    }
+
+}
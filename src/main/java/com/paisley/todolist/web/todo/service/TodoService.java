@@ -1,88 +1,545 @@
 package com.paisley.todolist.web.todo.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.paisley.todolist.dao.model.Todo;
-import com.paisley.todolist.util.DateUtil;
+import com.paisley.todolist.util.ListUtil;
+import com.paisley.todolist.util.MapUtil;
+import com.paisley.todolist.util.StringUtil;
+import com.paisley.todolist.util.TransactionUtil;
+import com.paisley.todolist.web.todo.domain.TodoBatchOperation;
+import com.paisley.todolist.web.todo.domain.TodoBatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoBatchResponse;
+import com.paisley.todolist.web.todo.domain.TodoBatchResult;
+import com.paisley.todolist.web.todo.domain.TodoBulkResponse;
+import com.paisley.todolist.web.todo.domain.TodoCacheStatsResponse;
+import com.paisley.todolist.web.todo.domain.TodoChangeEvent;
 import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
 import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.domain.TodoPageRequest;
+import com.paisley.todolist.web.todo.domain.TodoPageResponse;
+import com.paisley.todolist.web.todo.domain.TodoPatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoPatchResponse;
+import com.paisley.todolist.web.todo.domain.TodoStatsResponse;
 import com.paisley.todolist.web.todo.domain.TodoUpdateRequest;
 import com.paisley.todolist.web.todo.domain.TodoUpdateResponse;
-import com.paisley.todolist.web.todo.repository.TodoRepository;
+import com.paisley.todolist.web.todo.repository.TodoStore;
+import com.paisley.todolist.web.todo.repository.TodoTableVersion;
+import com.paisley.todolist.web.todo.repository.TodoView;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+// 每個 public 方法的耗時記錄於 timer "todo.service"(tag: class/method/exception)，分位數設定見 application.properties
+@Slf4j
 @Service
+@Timed("todo.service")
 @RequiredArgsConstructor
 public class TodoService {
-    private final TodoRepository todoRepository;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_SEARCH_SIZE = 100;
+    // getTodoById 快取名稱，容量與 TTL 見 spring.cache.caffeine.spec
+    public static final String TODO_CACHE = "todo";
+    // 全文檢索遇到已刪除 id 時的重查上限
+    private static final int MAX_SEARCH_ROUNDS = 3;
+    // 只給一端的更新日期區間時，另一端以此補上，讓日期篩選固定走同一組查詢
+    private static final LocalDateTime MIN_UPDATE_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_UPDATE_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+    // 批次 UPDATE 時 IN 條件每組上限
+    private static final int BULK_CHUNK_SIZE = 1000;
 
-    // 取得所有待辦事項
-    public List<TodoCreateResponse> getAllTodos() {
-        return todoRepository.findAll().stream()
-                .map(this::convertToCreateResponse)
-                .toList();
+    private final TodoStore todoRepository;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final TodoSearchIndex searchIndex;
+    private final TodoWriteBehindWriter writeBehindWriter;
+    private final TodoChangeFeed changeFeed;
+    private final TodoStats stats;
+
+    // 分頁取得待辦事項（keyset，多取一筆判斷是否還有下一頁）
+    // 無日期篩選時依 id 排序、游標為 id；有日期篩選時依 (updateDate, id) 排序、游標為兩者組合
+    @Transactional(readOnly = true)
+    public TodoPageResponse getTodos(TodoPageRequest request) {
+        int size = pageSize(request);
+        String completed = request.getCompleted();
+        boolean byUpdateDate = request.getUpdatedFrom() != null || request.getUpdatedTo() != null;
+        Limit limit = Limit.of(size + 1);
+
+        List<TodoView> todos;
+        if (byUpdateDate) {
+            LocalDateTime from = request.getUpdatedFrom() != null ? request.getUpdatedFrom() : MIN_UPDATE_DATE;
+            LocalDateTime to = request.getUpdatedTo() != null ? request.getUpdatedTo() : MAX_UPDATE_DATE;
+            UpdateDateCursor after = request.getCursor() == null
+                    ? new UpdateDateCursor(from, 0L)
+                    : UpdateDateCursor.parse(request.getCursor());
+            todos = completed == null
+                    ? todoRepository.findPageByUpdateDate(from, to, after.updateDate(), after.id(), limit)
+                    : todoRepository.findPageByCompletedAndUpdateDate(completed, from, to, after.updateDate(), after.id(), limit);
+        } else {
+            long afterId = request.getCursor() == null ? 0L : parseIdCursor(request.getCursor());
+            todos = completed == null
+                    ? todoRepository.findPage(afterId, limit)
+                    : todoRepository.findPageByCompleted(completed, afterId, limit);
+        }
+        boolean hasNext = todos.size() > size;
+        List<TodoView> page = hasNext ? todos.subList(0, size) : todos;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TodoView last = page.get(size - 1);
+            nextCursor = byUpdateDate ? UpdateDateCursor.of(last).toString() : String.valueOf(last.id());
+        }
+        return TodoPageResponse.builder()
+                .items(page.stream().map(TodoService::convertToCreateResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    // 取得單一待辦事項
+    // 全文檢索：由反向索引取得排序後的 id，再以單次 IN 查詢取回資料。
+    // 已不存在的 id(批次刪除不經過索引)自索引移除後重查，讓結果仍湊滿 limit；最多 MAX_SEARCH_ROUNDS 輪，每輪只查新出現的 id。
+    // 同分時過期 id 可能逐輪才被取到，重查時取數加倍，避免每輪只淘汰一筆而湊不滿
+    @Transactional(readOnly = true)
+    public List<TodoCreateResponse> searchTodos(String query, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_SEARCH_SIZE));
+        Map<Long, TodoView> todos = MapUtil.newHashMap();
+        List<TodoCreateResponse> results = List.of();
+        int fetch = size;
+        for (int round = 0; round < MAX_SEARCH_ROUNDS; round++, fetch *= 2) {
+            List<Long> ids = searchIndex.search(query, fetch);
+            List<Long> unseen = ids.stream().filter(id -> !todos.containsKey(id)).toList();
+            if (!unseen.isEmpty()) {
+                todoRepository.findViewsByIds(unseen).forEach(todo -> todos.put(todo.id(), todo));
+            }
+            results = ListUtil.newArrayList();
+            boolean stale = false;
+            for (Long id : ids) {
+                TodoView todo = todos.get(id);
+                if (todo == null) {
+                    searchIndex.remove(id);
+                    stale = true;
+                } else if (results.size() < size) {
+                    results.add(convertToCreateResponse(todo));
+                }
+            }
+            if (!stale || results.size() == size || ids.size() < fetch) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    // 啟動時以串流一次掃描重建全文索引
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        long start = System.nanoTime();
+        searchIndex.clear();
+        try (Stream<TodoView> todos = todoRepository.streamAll()) {
+            todos.forEach(todo -> searchIndex.put(todo.id(), todo.title(), todo.description()));
+        }
+        log.info("全文索引重建完成，共 {} 筆，耗時 {} ms", searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // 列表 ETag：整表版本加上查詢條件(逐一編碼實際值，不用 hash，避免不同條件碰撞成同一 ETag)，任一筆異動即失效
+    @Transactional(readOnly = true)
+    public String getTodosETag(TodoPageRequest request) {
+        TodoTableVersion version = todoRepository.findTableVersion();
+        return "\"L" + version.getCount()
+                + "-" + version.getMaxId()
+                + "-" + toVersion(version.getMaxUpdateDate())
+                + "-" + pageSize(request)
+                + "|" + eTagPart(request.getCursor())
+                + "|" + eTagPart(request.getCompleted())
+                + "|" + eTagPart(request.getUpdatedFrom())
+                + "|" + eTagPart(request.getUpdatedTo()) + "\"";
+    }
+
+    /**
+     * 單筆 ETag：由回應本身(id + version + updateDate)計算，快取命中時不需查詢，且與回應內容必然一致
+     *
+     * @param todo getTodoById 的回應
+     * @return String
+     */
+    public static String eTagOf(TodoCreateResponse todo) {
+        return "\"" + todo.getId() + "-" + todo.getVersion() + "-" + toVersion(todo.getUpdateDate()) + "\"";
+    }
+
+    // 以 NDJSON 串流匯出全部待辦事項，逐筆以投影讀出寫出，不進 persistence context，記憶體用量不隨筆數成長
+    @Transactional(readOnly = true)
+    public long exportTodos(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long start = System.nanoTime();
+        long rows = 0;
+        try (Stream<TodoView> todos = todoRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .setRootValueSeparator(null)) {
+            Iterator<TodoView> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, convertToCreateResponse(iterator.next()));
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("匯出待辦事項 {} 筆，耗時 {} ms（{} 筆/秒）", rows, elapsedMillis, rows * 1000 / elapsedMillis);
+        return rows;
+    }
+
+    // 取得單一待辦事項（read-through 快取，查無資料不快取）；單一查詢，不另開交易
+    @Cacheable(cacheNames = TODO_CACHE, key = "#id", unless = "#result == null")
     public Optional<TodoCreateResponse> getTodoById(Long id) {
-        return todoRepository.findById(id)
-                .map(this::convertToCreateResponse);
+        return todoRepository.findViewById(id)
+                .map(TodoService::convertToCreateResponse);
     }
 
-    // 新增待辦事項
+    // 新增待辦事項：交易內登記統計增量，commit 後才套用，校正才能避開這段期間
+    @Transactional
+    @CachePut(cacheNames = TODO_CACHE, key = "T(java.lang.Long).valueOf(#result.id)")
     public TodoCreateResponse createTodo(TodoCreateRequest request) {
-        Todo todo = Todo.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .completed(request.getCompleted() != null ? request.getCompleted() : "N") // ✅ 預設 'N'
-                .createDate(LocalDateTime.now())
-                .updateDate(LocalDateTime.now())
-                .build();
+        Todo savedTodo = todoRepository.save(newTodo(request));
+        stats.created(savedTodo);
+        indexAfterCommit(savedTodo);
+        changeFeed.publish(TodoChangeEvent.Type.CREATED, savedTodo.getId());
+        return convertToCreateResponse(TodoView.of(savedTodo));
+    }
+
+    // 非同步新增待辦事項（write-behind 模式），佇列滿時丟出 TaskRejectedException；
+    // commit 後與 createTodo 的 @CachePut 一樣放入快取，再回應呼叫端
+    public CompletableFuture<TodoCreateResponse> enqueueTodo(TodoCreateRequest request) {
+        return writeBehindWriter.submit(newTodo(request))
+                .thenApply(todo -> {
+                    TodoCreateResponse response = convertToCreateResponse(TodoView.of(todo));
+                    cacheManager.getCache(TODO_CACHE).put(todo.getId(), response);
+                    return response;
+                });
+    }
 
-        Todo savedTodo = todoRepository.save(todo);
-        return convertToCreateResponse(savedTodo);
+    public boolean isWriteBehindEnabled() {
+        return writeBehindWriter.isEnabled();
+    }
+
+    // 訂閱異動事件流
+    public SseEmitter subscribeChanges(String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
     }
 
     // 更新待辦事項
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, key = "#id")
     public Optional<TodoUpdateResponse> updateTodo(Long id, TodoUpdateRequest request) {
         return todoRepository.findById(id).map(todo -> {
+            String oldCompleted = todo.getCompleted();
+            LocalDateTime oldUpdateDate = todo.getUpdateDate();
             todo.setTitle(request.getTitle());
             todo.setDescription(request.getDescription());
             todo.setCompleted(request.getCompleted() != null ? request.getCompleted() : todo.getCompleted()); // ✅ 不傳時保留原狀態
             todo.setUpdateDate(LocalDateTime.now());
 
             Todo updatedTodo = todoRepository.save(todo);
+            stats.updated(oldCompleted, oldUpdateDate, updatedTodo);
+            indexAfterCommit(updatedTodo);
+            changeFeed.publish(TodoChangeEvent.Type.UPDATED, updatedTodo.getId());
             return convertToUpdateResponse(updatedTodo);
         });
     }
 
+    // 部分更新待辦事項：單一條件式 UPDATE，不載入 entity；版本不符時丟出 ObjectOptimisticLockingFailureException
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, key = "#id")
+    public Optional<TodoPatchResponse> patchTodo(Long id, TodoPatchRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        int affected = todoRepository.patch(id, request.getVersion(),
+                request.getTitle(), request.getDescription(), request.getCompleted(), now);
+        if (affected == 0) {
+            if (!todoRepository.existsById(id)) {
+                return Optional.empty();
+            }
+            throw new ObjectOptimisticLockingFailureException(Todo.class, id);
+        }
+        // 不載入原資料，完成狀態與原更新時間未知，交由統計校正
+        stats.changed(0, 0);
+        TransactionUtil.afterCommit(() -> searchIndex.merge(id, request.getTitle(), request.getDescription()));
+        changeFeed.publish(TodoChangeEvent.Type.UPDATED, id);
+        return Optional.of(TodoPatchResponse.builder()
+                .id(id)
+                .version(request.getVersion() + 1)
+                .updateDate(now)
+                .build());
+    }
+
     // 刪除待辦事項
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, key = "#id")
     public void deleteTodoById(Long id) {
-        todoRepository.deleteById(id);
+        if (todoRepository.deleteDirectlyById(id) > 0) {
+            stats.changed(-1, 0);
+            changeFeed.publish(TodoChangeEvent.Type.DELETED, id);
+        }
+        TransactionUtil.afterCommit(() -> searchIndex.remove(id));
+    }
+
+    // 批次標記完成（依 id）
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, allEntries = true)
+    public TodoBulkResponse markCompleted(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        int affected = 0;
+        for (List<Long> chunk : ListUtil.partition(ids.stream().filter(Objects::nonNull).distinct().toList(), BULK_CHUNK_SIZE)) {
+            affected += todoRepository.markCompletedByIds(chunk, now);
+        }
+        stats.changed(0, affected);
+        publishBulk(TodoChangeEvent.Type.BULK_UPDATED, affected);
+        return TodoBulkResponse.builder().affected(affected).build();
+    }
+
+    // 批次標記完成（更新日期早於指定時間）
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, allEntries = true)
+    public TodoBulkResponse markCompletedUpdatedBefore(LocalDateTime before) {
+        int affected = todoRepository.markCompletedUpdatedBefore(before, LocalDateTime.now());
+        stats.changed(0, affected);
+        publishBulk(TodoChangeEvent.Type.BULK_UPDATED, affected);
+        return TodoBulkResponse.builder().affected(affected).build();
+    }
+
+    // 刪除全部已完成項目
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, allEntries = true)
+    public TodoBulkResponse deleteCompleted() {
+        int affected = todoRepository.deleteCompleted();
+        stats.changed(-affected, -affected);
+        publishBulk(TodoChangeEvent.Type.BULK_DELETED, affected);
+        return TodoBulkResponse.builder().affected(affected).build();
+    }
+
+    // 批次新增/更新/刪除：同一交易內依序執行，更新與刪除的目標先以單次 IN 查詢載入，寫入於 commit 時以 JDBC batch 送出；
+    // 不參與交易的儲存(profile mmap)以 atomically 整批寫入
+    @Transactional
+    @CacheEvict(cacheNames = TODO_CACHE, allEntries = true)
+    public TodoBatchResponse batch(TodoBatchRequest request) {
+        return todoRepository.atomically(() -> applyBatch(request.getOperations()));
+    }
+
+    // 總數/完成/未完成/今日新增/今日異動，由計數器直接回傳，不查詢資料庫
+    public TodoStatsResponse getStats() {
+        return stats.snapshot();
     }
 
+    // getTodoById 快取命中統計
+    public TodoCacheStatsResponse getCacheStats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(TODO_CACHE);
+        CacheStats stats = cache.getNativeCache().stats();
+        return TodoCacheStatsResponse.builder()
+                .estimatedSize(cache.getNativeCache().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    private TodoBatchResponse applyBatch(List<TodoBatchOperation> operations) {
+        List<Long> targetIds = operations.stream()
+                .filter(operation -> operation.getOp() != TodoBatchOperation.Type.CREATE)
+                .map(TodoBatchOperation::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Todo> targets = MapUtil.newHashMap();
+        todoRepository.findAllById(targetIds).forEach(todo -> targets.put(todo.getId(), todo));
+
+        List<TodoBatchResult> results = ListUtil.newArrayList();
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(applyOperation(i, operations.get(i), targets));
+        }
+        return TodoBatchResponse.builder().results(results).build();
+    }
+
+    private TodoBatchResult applyOperation(int index, TodoBatchOperation operation, Map<Long, Todo> targets) {
+        TodoBatchResult.TodoBatchResultBuilder result = TodoBatchResult.builder()
+                .index(index)
+                .op(operation.getOp());
+        if (operation.getOp() == TodoBatchOperation.Type.CREATE) {
+            if (StringUtil.isBlank(operation.getTitle())) {
+                return result.status(TodoBatchResult.Status.INVALID).message("title is required").build();
+            }
+            Todo todo = todoRepository.save(Todo.builder()
+                    .title(operation.getTitle())
+                    .description(operation.getDescription())
+                    .completed(StringUtil.defaultBlank(operation.getCompleted(), "N"))
+                    .createDate(LocalDateTime.now())
+                    .updateDate(LocalDateTime.now())
+                    .build());
+            targets.put(todo.getId(), todo);
+            stats.created(todo);
+            indexAfterCommit(todo);
+            changeFeed.publish(TodoChangeEvent.Type.CREATED, todo.getId());
+            return result.id(todo.getId()).status(TodoBatchResult.Status.CREATED).build();
+        }
+
+        if (operation.getId() == null) {
+            return result.status(TodoBatchResult.Status.INVALID).message("id is required").build();
+        }
+        result.id(operation.getId());
+        Todo todo = targets.get(operation.getId());
+        if (todo == null) {
+            return result.status(TodoBatchResult.Status.NOT_FOUND).build();
+        }
+
+        if (operation.getOp() == TodoBatchOperation.Type.DELETE) {
+            todoRepository.delete(todo);
+            stats.deleted(todo);
+            targets.remove(operation.getId());
+            TransactionUtil.afterCommit(() -> searchIndex.remove(operation.getId()));
+            changeFeed.publish(TodoChangeEvent.Type.DELETED, operation.getId());
+            return result.status(TodoBatchResult.Status.DELETED).build();
+        }
+        if (StringUtil.isBlank(operation.getTitle())) {
+            return result.status(TodoBatchResult.Status.INVALID).message("title is required").build();
+        }
+        String oldCompleted = todo.getCompleted();
+        LocalDateTime oldUpdateDate = todo.getUpdateDate();
+        todo.setTitle(operation.getTitle());
+        todo.setDescription(operation.getDescription());
+        todo.setCompleted(StringUtil.defaultBlank(operation.getCompleted(), todo.getCompleted()));
+        todo.setUpdateDate(LocalDateTime.now());
+        // JPA 下為 managed entity，commit 時才 flush；非 JPA 的 repository(profile mmap)需明確寫回
+        todoRepository.save(todo);
+        stats.updated(oldCompleted, oldUpdateDate, todo);
+        indexAfterCommit(todo);
+        changeFeed.publish(TodoChangeEvent.Type.UPDATED, todo.getId());
+        return result.status(TodoBatchResult.Status.UPDATED).build();
+    }
+
+    // 交易中時 commit 後才更新索引；先取出欄位值，之後同一交易內的異動不影響
+    private void indexAfterCommit(Todo todo) {
+        Long id = todo.getId();
+        String title = todo.getTitle();
+        String description = todo.getDescription();
+        TransactionUtil.afterCommit(() -> searchIndex.put(id, title, description));
+    }
+
+    private void publishBulk(TodoChangeEvent.Type type, int affected) {
+        if (affected > 0) {
+            changeFeed.publish(type, null);
+        }
+    }
+
+    private Todo newTodo(TodoCreateRequest request) {
+        return Todo.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .completed(request.getCompleted() != null ? request.getCompleted() : "N") // ✅ 預設 'N'
+                .createDate(LocalDateTime.now())
+                .updateDate(LocalDateTime.now())
+                .build();
+    }
+
+    private static int pageSize(TodoPageRequest request) {
+        return request.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+    }
+
+    // URL 編碼後只剩 header 可用的 ASCII，且不含分隔字元 '|'
+    private static String eTagPart(Object value) {
+        return value == null ? "" : URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static long parseIdCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // 日期篩選分頁的游標：上一頁最後一筆的 updateDate(epoch 秒.奈秒，UTC 欄位值)與 id，格式 "秒.奈秒.id"
+    private record UpdateDateCursor(LocalDateTime updateDate, long id) {
 
-    private TodoCreateResponse convertToCreateResponse(Todo todo) {
+        static UpdateDateCursor of(TodoView todo) {
+            return new UpdateDateCursor(todo.updateDate(), todo.id());
+        }
+
+        static UpdateDateCursor parse(String cursor) {
+            String[] parts = cursor.split("\\.");
+            try {
+                if (parts.length == 3) {
+                    LocalDateTime updateDate = LocalDateTime.ofEpochSecond(
+                            Long.parseLong(parts[0]), Integer.parseInt(parts[1]), ZoneOffset.UTC);
+                    return new UpdateDateCursor(updateDate, Long.parseLong(parts[2]));
+                }
+            } catch (RuntimeException e) {
+                // 落到下方統一回 400
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        @Override
+        public String toString() {
+            return updateDate.toEpochSecond(ZoneOffset.UTC) + "." + updateDate.getNano() + "." + id;
+        }
+    }
+
+    private static String toVersion(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return "0";
+        }
+        return Long.toHexString(dateTime.toEpochSecond(ZoneOffset.UTC)) + "." + Integer.toHexString(dateTime.getNano());
+    }
+
+    // package-private 供 benchmark 使用；entity 先以 TodoView.of 轉換
+    static TodoCreateResponse convertToCreateResponse(TodoView todo) {
         return TodoCreateResponse.builder()
-                .id(String.valueOf(todo.getId()))
-                .title(todo.getTitle())
-                .description(todo.getDescription())
-                .completed(todo.getCompleted())
-                .createDate(DateUtil.format(todo.getCreateDate(), "yyyy-mm-dd HH:mm:ss"))
-                .updateDate(DateUtil.format(todo.getUpdateDate(), "yyyy-mm-dd HH:mm:ss"))
+                .id(todo.id())
+                .title(todo.title())
+                .description(todo.description())
+                .completed(todo.completed())
+                .createDate(todo.createDate())
+                .updateDate(todo.updateDate())
+                .version(todo.version())
                 .build();
     }
 
-    private TodoUpdateResponse convertToUpdateResponse(Todo todo) {
+    static TodoUpdateResponse convertToUpdateResponse(Todo todo) {
         return TodoUpdateResponse.builder()
-                .id(String.valueOf(todo.getId()))
+                .id(todo.getId())
                 .title(todo.getTitle())
                 .description(todo.getDescription())
                 .completed(todo.getCompleted())
-                .updateDate(DateUtil.format(todo.getUpdateDate(), "yyyy-mm-dd HH:mm:ss"))
+                .updateDate(todo.getUpdateDate())
+                .version(todo.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,274 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.web.todo.domain.TodoStatsResponse;
+import com.paisley.todolist.web.todo.repository.TodoCounts;
+import com.paisley.todolist.web.todo.repository.TodoStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 待辦事項統計計數器：總數、已完成、今日新增/今日異動，以 LongAdder 於寫入時增量維護，讀取 O(1)。
+ * 啟動時以一次彙總查詢初始化，之後定期與資料庫校正；寫入端無法得知原狀態的異動(PATCH、依 id 刪除、批次 UPDATE/DELETE)
+ * 只套用已知的部分並標記 stale，由下一次檢查(stale-reconcile-delay-ms)提前校正。
+ * 校正只在查詢期間沒有任何寫入(含已登記、尚未套用增量的交易)時才生效，否則重試，仍有寫入則標記 stale 留待下一次
+ */
+@Slf4j
+@Component
+public class TodoStats {
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TodoStore todoRepository;
+    private final long reconcileIntervalNanos;
+    private final long staleCheckMillis;
+    private final ScheduledExecutorService reconciler;
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder createdToday = new LongAdder();
+    private final LongAdder updatedToday = new LongAdder();
+    // createdToday/updatedToday 所屬日期，跨日時歸零
+    private final AtomicReference<LocalDate> day = new AtomicReference<>(LocalDate.now());
+    private final AtomicBoolean stale = new AtomicBoolean();
+    // 每次登記與套用寫入都遞增；pending 為已登記、尚未完成(commit/rollback)的交易數
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile LocalDateTime reconciledAt;
+    private volatile long lastReconcileNanos;
+
+    public TodoStats(TodoStore todoRepository,
+                     @Value("${todo.stats.reconcile-interval-ms:60000}") long reconcileIntervalMillis,
+                     @Value("${todo.stats.stale-reconcile-delay-ms:1000}") long staleCheckMillis) {
+        this.todoRepository = todoRepository;
+        this.reconcileIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reconcileIntervalMillis);
+        this.staleCheckMillis = staleCheckMillis;
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 啟動時以彙總查詢初始化，之後每 stale-reconcile-delay-ms 檢查一次是否需要校正
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        reconcile();
+        reconciler.scheduleWithFixedDelay(this::reconcileIfNeeded, staleCheckMillis, staleCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        reconciler.shutdownNow();
+    }
+
+    /**
+     * 目前統計，不查詢資料庫
+     *
+     * @return TodoStatsResponse
+     */
+    public TodoStatsResponse snapshot() {
+        rollover();
+        long totalCount = total.sum();
+        long completedCount = completed.sum();
+        return TodoStatsResponse.builder()
+                .total(totalCount)
+                .completed(completedCount)
+                .open(totalCount - completedCount)
+                .createdToday(createdToday.sum())
+                .updatedToday(updatedToday.sum())
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * 新增一筆(交易中時於 commit 後才計入)
+     *
+     * @param todo 已寫入的 todo
+     */
+    public void created(Todo todo) {
+        boolean isCompleted = isCompleted(todo.getCompleted());
+        LocalDateTime createDate = todo.getCreateDate();
+        LocalDateTime updateDate = todo.getUpdateDate();
+        track(() -> {
+            LocalDate today = rollover();
+            total.increment();
+            if (isCompleted) completed.increment();
+            if (isOn(createDate, today)) createdToday.increment();
+            if (isOn(updateDate, today)) updatedToday.increment();
+        });
+    }
+
+    /**
+     * 更新一筆，呼叫端需在修改前記下原完成狀態與更新時間
+     *
+     * @param oldCompleted  原完成狀態
+     * @param oldUpdateDate 原更新時間
+     * @param todo          更新後的 todo
+     */
+    public void updated(String oldCompleted, LocalDateTime oldUpdateDate, Todo todo) {
+        int completedDelta = (isCompleted(todo.getCompleted()) ? 1 : 0) - (isCompleted(oldCompleted) ? 1 : 0);
+        LocalDateTime updateDate = todo.getUpdateDate();
+        track(() -> {
+            LocalDate today = rollover();
+            completed.add(completedDelta);
+            if (!isOn(oldUpdateDate, today) && isOn(updateDate, today)) updatedToday.increment();
+        });
+    }
+
+    /**
+     * 刪除一筆已載入的 todo
+     *
+     * @param todo 被刪除的 todo
+     */
+    public void deleted(Todo todo) {
+        boolean isCompleted = isCompleted(todo.getCompleted());
+        LocalDateTime createDate = todo.getCreateDate();
+        LocalDateTime updateDate = todo.getUpdateDate();
+        track(() -> {
+            LocalDate today = rollover();
+            total.decrement();
+            if (isCompleted) completed.decrement();
+            if (isOn(createDate, today)) createdToday.decrement();
+            if (isOn(updateDate, today)) updatedToday.decrement();
+        });
+    }
+
+    /**
+     * 無法得知原狀態的異動：套用已知的總數/完成數差額，其餘由提前校正修正
+     *
+     * @param totalDelta     總數差額
+     * @param completedDelta 完成數差額
+     */
+    public void changed(long totalDelta, long completedDelta) {
+        track(() -> {
+            total.add(totalDelta);
+            completed.add(completedDelta);
+            stale.set(true);
+        });
+    }
+
+    /**
+     * 與資料庫校正：以查詢前的計數為基準補上差額。
+     * 查詢前後 generation 不變且沒有進行中的交易，才能確定查詢結果與基準涵蓋相同的寫入；
+     * 否則(例如交易在查詢前 commit、增量在查詢後才套用)差額會重複計入，改為重試或標記 stale
+     *
+     * @return 是否已校正
+     */
+    boolean reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile()) {
+                return true;
+            }
+        }
+        stale.set(true);
+        log.debug("Todo stats reconciliation deferred: concurrent writes");
+        return false;
+    }
+
+    boolean isStale() {
+        return stale.get();
+    }
+
+    private boolean tryReconcile() {
+        long startGeneration = generation.get();
+        if (pending.get() != 0) {
+            return false;
+        }
+        // 先清除旗標，之後的異動會改變 generation 而使這次校正作廢
+        stale.set(false);
+        LocalDate today = rollover();
+        long totalBefore = total.sum();
+        long completedBefore = completed.sum();
+        long createdTodayBefore = createdToday.sum();
+        long updatedTodayBefore = updatedToday.sum();
+
+        TodoCounts counts = todoRepository.countStats(today.atStartOfDay());
+
+        if (pending.get() != 0 || generation.get() != startGeneration) {
+            return false;
+        }
+        total.add(counts.getTotal() - totalBefore);
+        completed.add(counts.getCompleted() - completedBefore);
+        if (today.equals(day.get())) {
+            createdToday.add(counts.getCreatedToday() - createdTodayBefore);
+            updatedToday.add(counts.getUpdatedToday() - updatedTodayBefore);
+        }
+        reconciledAt = LocalDateTime.now();
+        lastReconcileNanos = System.nanoTime();
+        if (counts.getTotal() != totalBefore || counts.getCompleted() != completedBefore) {
+            log.debug("Todo stats reconciled: total {} -> {}, completed {} -> {}",
+                    totalBefore, counts.getTotal(), completedBefore, counts.getCompleted());
+        }
+        return true;
+    }
+
+    private void reconcileIfNeeded() {
+        try {
+            if (stale.get() || System.nanoTime() - lastReconcileNanos >= reconcileIntervalNanos) {
+                reconcile();
+            }
+        } catch (RuntimeException e) {
+            log.error("Todo stats reconciliation failed", e);
+        }
+    }
+
+    // 跨日時將今日計數歸零，回傳目前日期
+    private LocalDate rollover() {
+        LocalDate today = LocalDate.now();
+        LocalDate current = day.get();
+        if (!today.equals(current) && day.compareAndSet(current, today)) {
+            createdToday.reset();
+            updatedToday.reset();
+        }
+        return today;
+    }
+
+    // 交易中時於 commit 後套用，rollback 不計入；非交易中立即套用。登記到完成之間計入 pending，讓校正避開
+    private void track(Runnable action) {
+        generation.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.incrementAndGet();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    pending.decrementAndGet();
+                }
+            });
+        } else {
+            action.run();
+            generation.incrementAndGet();
+        }
+    }
+
+    private static boolean isOn(LocalDateTime dateTime, LocalDate date) {
+        return dateTime != null && dateTime.toLocalDate().equals(date);
+    }
+
+    private static boolean isCompleted(String completed) {
+        return "Y".equals(completed);
+    }
+}
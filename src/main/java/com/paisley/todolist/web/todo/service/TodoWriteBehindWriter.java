@@ -0,0 +1,180 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.util.ListUtil;
+import com.paisley.todolist.web.todo.domain.TodoChangeEvent;
+import com.paisley.todolist.web.todo.repository.TodoStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 非同步新增(write-behind)：請求放入有界佇列，由單一寫入執行緒依筆數或時間湊批，一次交易寫入(group commit)
+ */
+@Slf4j
+@Component
+public class TodoWriteBehindWriter {
+
+    private final TodoStore todoRepository;
+    private final TodoSearchIndex searchIndex;
+    private final TodoChangeFeed changeFeed;
+    private final TodoStats stats;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final BlockingQueue<Pending> queue;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    private record Pending(Todo todo, CompletableFuture<Todo> future) {}
+
+    public TodoWriteBehindWriter(TodoStore todoRepository,
+                                 TodoSearchIndex searchIndex,
+                                 TodoChangeFeed changeFeed,
+                                 TodoStats stats,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${todo.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${todo.write-behind.capacity:10000}") int capacity,
+                                 @Value("${todo.write-behind.batch-size:200}") int batchSize,
+                                 @Value("${todo.write-behind.max-delay-ms:5}") long maxDelayMillis) {
+        this.todoRepository = todoRepository;
+        this.searchIndex = searchIndex;
+        this.changeFeed = changeFeed;
+        this.stats = stats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 放入佇列，佇列已滿時丟出 TaskRejectedException(由 Controller 轉成 503)
+     *
+     * @param todo todo
+     * @return CompletableFuture<Todo> 寫入 commit 後完成，含配置的 id
+     */
+    public CompletableFuture<Todo> submit(Todo todo) {
+        if (!running) {
+            throw new TaskRejectedException("Write-behind writer is not running");
+        }
+        Pending pending = new Pending(todo, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new TaskRejectedException("Write-behind queue is full");
+        }
+        // 檢查與放入之間已停止：寫入執行緒可能已結束，自行取回；取回失敗表示已被寫入執行緒取走，照常完成
+        if (!running && queue.remove(pending)) {
+            throw new TaskRejectedException("Write-behind writer is not running");
+        }
+        return pending.future();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        running = true;
+        writerThread = new Thread(this::drainLoop, "todo-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Write-behind create enabled (capacity {}, batch {}, max delay {} ms)",
+                queue.remainingCapacity(), batchSize, maxDelayMillis);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!enabled || !running) return;
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        // 寫入執行緒結束後才放入(或逾時未寫完)的項目不會再被處理，讓呼叫端得到失敗而非永遠等待
+        List<Pending> remaining = ListUtil.newArrayList();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.future()
+                .completeExceptionally(new TaskRejectedException("Write-behind writer stopped")));
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = ListUtil.newArrayList();
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < batchSize) {
+                    Pending next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 停止時把剩餘的一次寫完
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Todo> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Todo> todos = todoRepository.saveAll(batch.stream().map(Pending::todo).toList());
+                // 統計增量於交易內登記，commit 後才套用
+                todos.forEach(stats::created);
+                return todos;
+            });
+        } catch (RuntimeException e) {
+            // 整批已 rollback：逐筆重試，只讓有問題的那筆失敗
+            log.warn("Write-behind batch of {} todos failed, retrying one by one", batch.size(), e);
+            batch.forEach(this::flushOne);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            completed(batch.get(i), saved.get(i));
+        }
+    }
+
+    private void flushOne(Pending pending) {
+        Todo todo = pending.todo();
+        // 失敗的 persist 可能已配置 id 與版本，清掉才會以新增而非 merge 寫入
+        todo.setId(null);
+        todo.setVersion(null);
+        try {
+            completed(pending, transactionTemplate.execute(status -> {
+                Todo saved = todoRepository.save(todo);
+                stats.created(saved);
+                return saved;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Write-behind create failed", e);
+            pending.future().completeExceptionally(e);
+        }
+    }
+
+    // commit 後更新索引並發布事件
+    private void completed(Pending pending, Todo todo) {
+        searchIndex.put(todo.getId(), todo.getTitle(), todo.getDescription());
+        changeFeed.publish(TodoChangeEvent.Type.CREATED, todo.getId());
+        pending.future().complete(todo);
+    }
+
+}
@@ -0,0 +1,18 @@
+-- Pre-built schema for the "startup" profile (spring.jpa.hibernate.ddl-auto=none).
+-- Must match dao.model.Todo; StartupProfileTests boots the profile with ddl-auto=validate to check it.
+create sequence if not exists todos_seq start with 1 increment by 50;
+
+create table if not exists todos (
+    id          bigint       not null,
+    title       varchar(255) not null,
+    description varchar(255),
+    completed   varchar(1)   not null,
+    create_date timestamp(6) not null,
+    update_date timestamp(6) not null,
+    version     bigint,
+    primary key (id)
+);
+
+create index if not exists idx_todos_completed_id on todos (completed, id);
+create index if not exists idx_todos_update_date_id on todos (update_date, id);
+create index if not exists idx_todos_completed_update_date_id on todos (completed, update_date, id);
@@ -0,0 +1,22 @@
+package com.paisley.todolist;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * profile startup 以 db/schema.sql 建表(ddl-auto=none)；此處改為 validate，schema.sql 與 entity 不一致時 context 啟動失敗
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:startup_schema",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true"
+})
+@ActiveProfiles("startup")
+class StartupProfileTests {
+
+    @Test
+    void schemaMatchesEntities() {
+    }
+
+}
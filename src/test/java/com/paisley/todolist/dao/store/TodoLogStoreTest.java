@@ -0,0 +1,256 @@
+package com.paisley.todolist.dao.store;
+
+import com.paisley.todolist.dao.model.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoLogStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private TodoLogStore store;
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Test
+    void reopenRecoversPutsDeletesAndIdHighWater() {
+        store = open();
+        long first = put("first");
+        long second = put("second");
+        store.update(first, todo -> {
+            todo.setTitle("first v2");
+            return todo;
+        });
+        store.delete(second);
+
+        store = reopen();
+
+        assertThat(store.get(first)).get().extracting(Todo::getTitle).isEqualTo("first v2");
+        assertThat(store.contains(second)).isFalse();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.nextId()).isGreaterThan(second);
+    }
+
+    @Test
+    void truncatedTailRecordIsDropped() throws IOException {
+        store = open();
+        long first = put("first");
+        long second = put("second");
+        int tail = store.writePosition();
+        put("torn");
+        store.close();
+
+        // crash 時最後一筆只寫了一部分
+        try (FileChannel channel = FileChannel.open(path(), StandardOpenOption.WRITE)) {
+            channel.truncate(tail + 12);
+        }
+        store = open();
+
+        assertThat(store.ids()).containsExactly(first, second);
+        assertThat(store.writePosition()).isEqualTo(tail);
+        long next = put("after recovery");
+        store = reopen();
+        assertThat(store.ids()).containsExactly(first, second, next);
+        assertThat(store.get(next)).get().extracting(Todo::getTitle).isEqualTo("after recovery");
+    }
+
+    @Test
+    void corruptedTailRecordIsClearedAndOverwritten() throws IOException {
+        store = open();
+        long first = put("first");
+        int tail = store.writePosition();
+        put("a much longer title that the next record will not fully overwrite");
+        store.close();
+
+        flipByte(tail + 20);
+        store = open();
+
+        assertThat(store.ids()).containsExactly(first);
+        long next = put("short");
+        store = reopen();
+        // 截斷時已清除壞掉記錄的殘留內容，不會在新記錄之後被誤讀
+        assertThat(store.ids()).containsExactly(first, next);
+        assertThat(store.writePosition()).isGreaterThan(tail);
+    }
+
+    @Test
+    void compactionKeepsLiveRecordsAcrossReopen() {
+        store = open();
+        for (int i = 0; i < 100; i++) {
+            put("todo " + i);
+        }
+        for (long id = 1; id <= 50; id++) {
+            store.update(id, todo -> {
+                todo.setTitle(todo.getTitle() + " v2");
+                return todo;
+            });
+        }
+        for (long id = 51; id <= 75; id++) {
+            store.delete(id);
+        }
+        int before = store.writePosition();
+
+        store.compact();
+
+        assertThat(store.garbageBytes()).isZero();
+        assertThat(store.writePosition()).isLessThan(before);
+        assertThat(store.size()).isEqualTo(75);
+        long added = put("after compaction");
+
+        store = reopen();
+
+        assertThat(store.size()).isEqualTo(76);
+        assertThat(store.get(1L)).get().extracting(Todo::getTitle).isEqualTo("todo 0 v2");
+        assertThat(store.get(76L)).get().extracting(Todo::getTitle).isEqualTo("todo 75");
+        assertThat(store.contains(60L)).isFalse();
+        assertThat(store.get(added)).get().extracting(Todo::getTitle).isEqualTo("after compaction");
+        assertThat(store.nextId()).isGreaterThan(added);
+        assertThat(Files.exists(dir.resolve("todos.log.compact"))).isFalse();
+    }
+
+    @Test
+    void writesDuringCompactionAreKept() throws Exception {
+        store = open();
+        for (int i = 0; i < 2_000; i++) {
+            put("todo " + i);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Integer> writer = CompletableFuture.supplyAsync(() -> {
+            int round = 0;
+            while (writing.get() || round < 200) {
+                round++;
+                int value = round;
+                store.update(1 + round % 2_000, todo -> {
+                    todo.setTitle("round " + value);
+                    return todo;
+                });
+            }
+            return round;
+        });
+        for (int i = 0; i < 5; i++) {
+            store.compact();
+        }
+        writing.set(false);
+        int rounds = writer.get(30, TimeUnit.SECONDS);
+
+        store = reopen();
+
+        assertThat(store.size()).isEqualTo(2_000);
+        assertThat(store.get(1 + rounds % 2_000)).get().extracting(Todo::getTitle).isEqualTo("round " + rounds);
+    }
+
+    @Test
+    void atomicBatchIsAllOrNothing() {
+        store = open();
+        long kept = put("kept");
+        long deleted = put("deleted");
+        int before = store.writePosition();
+
+        assertThatThrownBy(() -> store.atomically(() -> {
+            put("never written");
+            store.delete(kept);
+            // 批次內看得到自己的寫入
+            assertThat(store.contains(kept)).isFalse();
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.writePosition()).isEqualTo(before);
+        assertThat(store.ids()).containsExactly(kept, deleted);
+
+        long created = store.atomically(() -> {
+            long id = put("created");
+            store.update(id, todo -> {
+                todo.setTitle("created v2");
+                return todo;
+            });
+            store.delete(deleted);
+            return id;
+        });
+        store = reopen();
+
+        assertThat(store.ids()).containsExactly(kept, created);
+        assertThat(store.get(created)).get().extracting(Todo::getTitle).isEqualTo("created v2");
+
+        store.compact();
+        store = reopen();
+        assertThat(store.ids()).containsExactly(kept, created);
+    }
+
+    @Test
+    void tornBatchRecoversNoneOfItsRecords() throws IOException {
+        store = open();
+        long kept = put("kept");
+        int tail = store.writePosition();
+        store.atomically(() -> {
+            put("one");
+            put("two");
+            store.delete(kept);
+            return null;
+        });
+        int end = store.writePosition();
+        store.close();
+
+        // 破壞批次中最後一筆(DELETE)，整批一起捨棄
+        flipByte(end - 1);
+        store = open();
+
+        assertThat(store.ids()).containsExactly(kept);
+        assertThat(store.writePosition()).isEqualTo(tail);
+    }
+
+    private TodoLogStore open() {
+        TodoLogStore opened = new TodoLogStore(path(), 4096, false);
+        opened.open();
+        return opened;
+    }
+
+    private TodoLogStore reopen() {
+        store.close();
+        return open();
+    }
+
+    private Path path() {
+        return dir.resolve("todos.log");
+    }
+
+    private long put(String title) {
+        long id = store.nextId();
+        store.put(Todo.builder()
+                .id(id)
+                .version(0L)
+                .title(title)
+                .completed("N")
+                .createDate(LocalDateTime.now())
+                .updateDate(LocalDateTime.now())
+                .build());
+        return id;
+    }
+
+    private void flipByte(int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) (value.get(0) ^ 0xFF)).rewind();
+            channel.write(value, position);
+        }
+    }
+}
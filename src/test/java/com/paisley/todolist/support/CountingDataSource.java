@@ -0,0 +1,84 @@
+package com.paisley.todolist.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * 測試用 DataSource proxy：攔截 Connection/Statement，每次 execute 系列呼叫記錄一次到 StatementCounter
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final StatementCounter counter;
+
+    public CountingDataSource(DataSource target, StatementCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxyConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxyConnection(super.getConnection(username, password));
+    }
+
+    private Connection proxyConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> proxyStatement(Statement.class, (Statement) result, null);
+                        case "prepareStatement" -> proxyStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                        case "prepareCall" -> proxyStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object proxyStatement(Class<? extends Statement> type, Statement statement, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                new java.lang.reflect.InvocationHandler() {
+                    // Statement.addBatch(sql) 時記下第一句，executeBatch 以它分類
+                    private String batchSql;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("addBatch") && args != null && args.length == 1 && batchSql == null) {
+                            batchSql = (String) args[0];
+                        } else if (EXECUTE_METHODS.contains(name)) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                                    : preparedSql != null ? preparedSql : batchSql;
+                            counter.record(sql);
+                            if (name.contains("Batch")) batchSql = null;
+                        }
+                        return CountingDataSource.invoke(statement, method, args);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.paisley.todolist.support;
+
+/**
+ * 單一 endpoint 各類 SQL 的次數上限
+ */
+public record StatementBudget(int select, int insert, int update, int delete) {
+
+    public static StatementBudget of(int select, int insert, int update, int delete) {
+        return new StatementBudget(select, insert, update, delete);
+    }
+
+    public int total() {
+        return select + insert + update + delete;
+    }
+
+    public boolean allows(StatementCounter.StatementCounts counts) {
+        return counts.select() <= select && counts.insert() <= insert
+                && counts.update() <= update && counts.delete() <= delete
+                && counts.other() == 0;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.paisley.todolist.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 收集各 endpoint 的 SQL 次數與預算，輸出為 CSV(依 endpoint 排序)，供跨版本追蹤
+ */
+@Slf4j
+public class StatementBudgetReport {
+
+    private static final String HEADER = "endpoint,select,insert,update,delete,other,total,budget";
+
+    private final Map<String, String> rows = new ConcurrentSkipListMap<>();
+
+    public void add(String endpoint, StatementCounter.StatementCounts counts, StatementBudget budget) {
+        rows.put(endpoint, String.join(",", quote(endpoint),
+                String.valueOf(counts.select()), String.valueOf(counts.insert()),
+                String.valueOf(counts.update()), String.valueOf(counts.delete()),
+                String.valueOf(counts.other()), String.valueOf(counts.total()), String.valueOf(budget.total())));
+    }
+
+    public void write(Path file) {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        rows.values().forEach(row -> csv.append(row).append('\n'));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Statements per endpoint ({}):\n{}", file, csv);
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.paisley.todolist.support;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 計算經由 CountingDataSource 送到資料庫的 SQL 次數(round trip)，依語句類型分類；
+ * JDBC batch 的 executeBatch 算一次
+ */
+public class StatementCounter {
+
+    public enum Type { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private final LongAdder[] counts = new LongAdder[Type.values().length];
+    private final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+    public StatementCounter() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(String sql) {
+        counts[typeOf(sql).ordinal()].increment();
+        statements.add(sql);
+    }
+
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        statements.clear();
+    }
+
+    public StatementCounts snapshot() {
+        return new StatementCounts(
+                counts[Type.SELECT.ordinal()].intValue(),
+                counts[Type.INSERT.ordinal()].intValue(),
+                counts[Type.UPDATE.ordinal()].intValue(),
+                counts[Type.DELETE.ordinal()].intValue(),
+                counts[Type.OTHER.ordinal()].intValue(),
+                List.copyOf(statements));
+    }
+
+    static Type typeOf(String sql) {
+        if (sql == null) return Type.OTHER;
+        String head = sql.stripLeading();
+        int end = 0;
+        while (end < head.length() && Character.isLetter(head.charAt(end))) end++;
+        return switch (head.substring(0, end).toUpperCase(Locale.ROOT)) {
+            case "SELECT", "WITH", "VALUES" -> Type.SELECT;
+            case "INSERT" -> Type.INSERT;
+            case "UPDATE" -> Type.UPDATE;
+            case "DELETE" -> Type.DELETE;
+            default -> Type.OTHER;
+        };
+    }
+
+    /**
+     * 某段期間的 SQL 次數
+     *
+     * @param statements 依執行順序的 SQL，供失敗訊息使用
+     */
+    public record StatementCounts(int select, int insert, int update, int delete, int other, List<String> statements) {
+
+        public int total() {
+            return select + insert + update + delete + other;
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.paisley.todolist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentLongObjectMapTest {
+
+    @Test
+    void storesZeroAndExtremeKeys() {
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>(0, 4);
+        map.put(0L, "zero");
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo("min");
+        assertThat(map.remove(0L)).isEqualTo("zero");
+        assertThat(map.containsKey(0L)).isFalse();
+        assertThat(map.putIfAbsent(Long.MIN_VALUE, "other")).isEqualTo("min");
+
+        Map<Long, String> entries = new HashMap<>();
+        map.forEach(entries::put);
+        assertThat(entries).containsOnly(Map.entry(Long.MIN_VALUE, "min"), Map.entry(Long.MAX_VALUE, "max"));
+
+        map.clear();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void growsPastExpectedSizeAndSurvivesChurn() {
+        ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(16, 4);
+        for (long key = 1; key <= 50_000; key++) {
+            map.put(key, key);
+        }
+        for (long key = 1; key <= 50_000; key += 2) {
+            map.remove(key);
+        }
+        for (long key = 100_001; key <= 125_000; key++) {
+            map.put(key, key);
+        }
+
+        assertThat(map.size()).isEqualTo(50_000);
+        assertThat(map.get(2L)).isEqualTo(2L);
+        assertThat(map.get(3L)).isNull();
+        assertThat(map.get(125_000L)).isEqualTo(125_000L);
+    }
+
+    @Test
+    void concurrentWritersOnDisjointKeysLoseNothing() throws Exception {
+        ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(0, 8);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < 4; t++) {
+                long base = t * 1_000_000L;
+                futures[t] = pool.submit(() -> {
+                    for (long key = base; key < base + 20_000; key++) {
+                        map.put(key, key);
+                        if (key % 2 == 0) map.remove(key);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(map.size()).isEqualTo(4 * 10_000);
+        assertThat(map.get(1_000_001L)).isEqualTo(1_000_001L);
+        assertThat(map.get(1_000_000L)).isNull();
+    }
+
+    @Test
+    void computeIfAbsentCallsFunctionOncePerKeyUnderContention() throws Exception {
+        ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(0, 4);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < 4; t++) {
+                futures[t] = pool.submit(() -> {
+                    for (long key = 0; key < 1_000; key++) {
+                        map.computeIfAbsent(key, k -> {
+                            calls.incrementAndGet();
+                            return k;
+                        });
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(calls).hasValue(1_000);
+        assertThat(map.size()).isEqualTo(1_000);
+    }
+}
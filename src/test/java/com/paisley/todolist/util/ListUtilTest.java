@@ -0,0 +1,92 @@
+package com.paisley.todolist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ListUtilTest {
+
+    private static final List<Integer> SEVEN = IntStream.rangeClosed(1, 7).boxed().toList();
+
+    @Test
+    void partitionsRandomAccessListIntoViews() {
+        List<List<Integer>> chunks = ListUtil.partition(SEVEN, 3);
+
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks).containsExactly(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7));
+    }
+
+    @Test
+    void partitionsSequentialListIntoCopies() {
+        List<List<Integer>> chunks = ListUtil.partition(new LinkedList<>(SEVEN), 3);
+
+        assertThat(chunks).containsExactly(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7));
+    }
+
+    @Test
+    void copiedPartitionsAreIndependentOfSource() {
+        List<Integer> source = new ArrayList<>(SEVEN);
+        List<List<Integer>> views = ListUtil.partition(source, 3);
+        List<List<Integer>> copies = ListUtil.partition(source, 3, true);
+
+        source.set(0, 100);
+
+        assertThat(views.get(0)).containsExactly(100, 2, 3);
+        assertThat(copies.get(0)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void partitionHandlesEmptyListAndOversizedChunks() {
+        assertThat(ListUtil.partition(List.of(), 3)).isEmpty();
+        assertThat(ListUtil.partition(SEVEN, Integer.MAX_VALUE)).containsExactly(SEVEN);
+        assertThat(ListUtil.partition(SEVEN, Integer.MAX_VALUE).get(0)).hasSize(7);
+    }
+
+    @Test
+    void partitionRejectsBadSizeAndIndex() {
+        assertThatThrownBy(() -> ListUtil.partition(SEVEN, 0)).isInstanceOf(IllegalArgumentException.class);
+
+        List<List<Integer>> chunks = ListUtil.partition(SEVEN, Integer.MAX_VALUE / 2);
+        assertThatThrownBy(() -> chunks.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        // index * size 溢位前就回報越界
+        assertThatThrownBy(() -> chunks.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> ListUtil.partition(SEVEN, 3).get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void processChunksKeepsOrderAndIsolatesFailures() {
+        ListUtil.ChunkResults<Integer> results = ListUtil.processChunks(SEVEN, 3, 4, chunk -> {
+            if (chunk.contains(5)) {
+                throw new IllegalStateException("bad chunk");
+            }
+            return chunk.stream().mapToInt(Integer::intValue).sum();
+        });
+
+        assertThat(results.results()).containsExactly(6, null, 7);
+        assertThat(results.hasErrors()).isTrue();
+        assertThat(results.errors()).singleElement().satisfies(error -> {
+            assertThat(error.index()).isEqualTo(1);
+            assertThat(error.offset()).isEqualTo(3);
+            assertThat(error.error()).isInstanceOf(IllegalStateException.class).hasMessage("bad chunk");
+        });
+    }
+
+    @Test
+    void processChunksPropagatesErrors() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertThatThrownBy(() -> ListUtil.processChunks(SEVEN, 3, pool, chunk -> {
+                throw new AssertionError("fatal");
+            })).isInstanceOf(AssertionError.class);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
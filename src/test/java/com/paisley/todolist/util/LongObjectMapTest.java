@@ -0,0 +1,140 @@
+package com.paisley.todolist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectMapTest {
+
+    @Test
+    void storesZeroAndExtremeKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(0L, "zero");
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+        map.put(-1L, "minus one");
+
+        assertThat(map.size()).isEqualTo(4);
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo("min");
+        assertThat(map.get(Long.MAX_VALUE)).isEqualTo("max");
+        assertThat(map.get(-1L)).isEqualTo("minus one");
+        assertThat(map.keys()).containsExactlyInAnyOrder(0L, Long.MIN_VALUE, Long.MAX_VALUE, -1L);
+
+        assertThat(map.remove(0L)).isEqualTo("zero");
+        assertThat(map.containsKey(0L)).isFalse();
+        assertThat(map.remove(0L)).isNull();
+        assertThat(map.remove(Long.MIN_VALUE)).isEqualTo("min");
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void resizesAndKeepsEveryEntry() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        int initialCapacity = map.capacity();
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key, key * 2);
+        }
+
+        assertThat(map.capacity()).isGreaterThan(initialCapacity);
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key * 2);
+        }
+    }
+
+    @Test
+    void expectedSizeAvoidsResize() {
+        LongObjectMap<Long> map = new LongObjectMap<>(1_000);
+        int capacity = map.capacity();
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key);
+        }
+        assertThat(map.capacity()).isEqualTo(capacity);
+    }
+
+    @Test
+    void removedSlotsAreReusedWithoutGrowing() {
+        LongObjectMap<Long> map = new LongObjectMap<>(100);
+        int capacity = map.capacity();
+        // 持續新增與刪除，同時存在的筆數不超過 100
+        for (long key = 1; key <= 100_000; key++) {
+            map.put(key, key);
+            if (key > 100) {
+                assertThat(map.remove(key - 100)).isEqualTo(key - 100);
+            }
+        }
+
+        assertThat(map.capacity()).isEqualTo(capacity);
+        assertThat(map.size()).isEqualTo(100);
+        assertThat(map.get(100_000L)).isEqualTo(100_000L);
+        assertThat(map.get(99_900L)).isNull();
+    }
+
+    @Test
+    void removeInsideProbeChainKeepsLaterKeysReachable() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        long[] colliding = collidingKeys(4, 64 - Integer.numberOfTrailingZeros(map.capacity()));
+        for (long key : colliding) {
+            map.put(key, key);
+        }
+
+        map.remove(colliding[1]);
+
+        assertThat(map.get(colliding[0])).isEqualTo(colliding[0]);
+        assertThat(map.get(colliding[1])).isNull();
+        assertThat(map.get(colliding[2])).isEqualTo(colliding[2]);
+        assertThat(map.get(colliding[3])).isEqualTo(colliding[3]);
+        map.put(colliding[1], -1L);
+        assertThat(map.get(colliding[1])).isEqualTo(-1L);
+        assertThat(map.size()).isEqualTo(4);
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(7);
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        long[] specials = {0L, Long.MIN_VALUE, Long.MAX_VALUE, -1L};
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(10) == 0 ? specials[random.nextInt(specials.length)] : random.nextInt(2_000) - 1_000;
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+                case 2 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                default -> assertThat(map.putIfAbsent(key, i)).isEqualTo(expected.putIfAbsent(key, i));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void computeIfAbsentSkipsNullValues() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertThat(map.computeIfAbsent(5L, key -> null)).isNull();
+        assertThat(map.containsKey(5L)).isFalse();
+        assertThat(map.computeIfAbsent(5L, key -> "five")).isEqualTo("five");
+        assertThat(map.computeIfAbsent(5L, key -> "other")).isEqualTo("five");
+    }
+
+    // 在指定表格大小下落在同一個理想位置的 key
+    static long[] collidingKeys(int count, int shift) {
+        long[] keys = new long[count];
+        int target = LongObjectMap.index(1L, shift);
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if (LongObjectMap.index(key, shift) == target) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,96 @@
+package com.paisley.todolist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongSetTest {
+
+    @Test
+    void storesZeroAndExtremeValues() {
+        LongSet set = new LongSet();
+
+        assertThat(set.add(0L)).isTrue();
+        assertThat(set.add(0L)).isFalse();
+        assertThat(set.add(Long.MIN_VALUE)).isTrue();
+        assertThat(set.add(Long.MAX_VALUE)).isTrue();
+
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(set.toArray()).containsExactlyInAnyOrder(0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertThat(set.remove(0L)).isTrue();
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.remove(Long.MIN_VALUE)).isTrue();
+        assertThat(set.contains(Long.MIN_VALUE)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void resizesAndKeepsEveryValue() {
+        LongSet set = new LongSet();
+        int initialCapacity = set.capacity();
+        for (long value = 1; value <= 10_000; value++) {
+            set.add(value);
+        }
+
+        assertThat(set.capacity()).isGreaterThan(initialCapacity);
+        assertThat(set.size()).isEqualTo(10_000);
+        for (long value = 1; value <= 10_000; value++) {
+            assertThat(set.contains(value)).isTrue();
+        }
+    }
+
+    @Test
+    void removedSlotsAreReusedWithoutGrowing() {
+        LongSet set = new LongSet(100);
+        int capacity = set.capacity();
+        for (long value = 1; value <= 100_000; value++) {
+            set.add(value);
+            if (value > 100) {
+                assertThat(set.remove(value - 100)).isTrue();
+            }
+        }
+
+        assertThat(set.capacity()).isEqualTo(capacity);
+        assertThat(set.size()).isEqualTo(100);
+    }
+
+    @Test
+    void removeInsideProbeChainKeepsLaterValuesReachable() {
+        LongSet set = new LongSet();
+        long[] colliding = LongObjectMapTest.collidingKeys(4, 64 - Integer.numberOfTrailingZeros(set.capacity()));
+        for (long value : colliding) {
+            set.add(value);
+        }
+
+        set.remove(colliding[0]);
+
+        assertThat(set.contains(colliding[0])).isFalse();
+        assertThat(set.contains(colliding[1])).isTrue();
+        assertThat(set.contains(colliding[2])).isTrue();
+        assertThat(set.contains(colliding[3])).isTrue();
+    }
+
+    @Test
+    void matchesHashSetUnderRandomOperations() {
+        Random random = new Random(11);
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(20) == 0 ? Long.MIN_VALUE : random.nextInt(2_000) - 1_000;
+            if (random.nextBoolean()) {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        Set<Long> actual = new HashSet<>();
+        set.forEach(actual::add);
+        assertThat(actual).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,75 @@
+package com.paisley.todolist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringUtilTest {
+
+    private static final List<String> REGEXES = List.of(",", ", ", "::", "a", "\\s*,\\s*", "\\|", "[;,]", "(?=b)", "x*", "");
+
+    private static final List<String> INPUTS = List.of(
+            "a,b,c", " a , b ,c ", ",a,,b,", ",,,", "a,b,,,", ", ,", "abc", "a::b::::c::",
+            "ba|b|a", "a;b,c;;", "bab", "aaa", "xxaxx", "中文,測試 , ,");
+
+    @Test
+    void tokenizersMatchStringSplit() {
+        for (String regex : REGEXES) {
+            for (String input : INPUTS) {
+                assertSameAsSplit(input, regex);
+            }
+        }
+    }
+
+    @Test
+    void tokenizersMatchStringSplitOnRandomInput() {
+        Random random = new Random(42);
+        String alphabet = "ab, :|;x";
+        for (int i = 0; i < 2_000; i++) {
+            char[] chars = new char[random.nextInt(12) + 1];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String input = new String(chars);
+            for (String regex : REGEXES) {
+                assertSameAsSplit(input, regex);
+            }
+        }
+    }
+
+    @Test
+    void emptyInputHasNoTokens() {
+        // 與原實作相同：null 與空字串回傳空 List，不同於 "".split 的 [""]
+        assertThat(StringUtil.transToList(null, ",")).isEmpty();
+        assertThat(StringUtil.transToList("", ",")).isEmpty();
+        assertThat(StringUtil.tokenIterator("", ",").hasNext()).isFalse();
+        assertThat(StringUtil.transToList("  ", ",")).containsExactly("");
+    }
+
+    @Test
+    void patternIsCompiledOnce() {
+        assertThat(StringUtil.pattern("\\d+")).isSameAs(StringUtil.pattern("\\d+"));
+        assertThat(StringUtil.matches("123", "\\d+")).isTrue();
+        assertThat(StringUtil.matches("12a", "\\d+")).isFalse();
+    }
+
+    // 改用快取 Pattern / TokenIterator 前的實作：data.split(regex) 後逐一 trim
+    private static void assertSameAsSplit(String input, String regex) {
+        List<String> expected = Arrays.stream(input.split(regex)).map(String::trim).toList();
+
+        List<String> consumed = new ArrayList<>();
+        StringUtil.forEachToken(input, regex, consumed::add);
+        List<String> iterated = new ArrayList<>();
+        StringUtil.tokenIterator(input, regex).forEachRemaining(iterated::add);
+
+        String description = "\"" + input + "\".split(\"" + regex + "\")";
+        assertThat(StringUtil.transToList(input, regex)).as(description).isEqualTo(expected);
+        assertThat(consumed).as(description).isEqualTo(expected);
+        assertThat(iterated).as(description).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,37 @@
+package com.paisley.todolist.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenUtilTest {
+
+    @Test
+    void splitsLatinWordsAndLowercases() {
+        assertThat(TokenUtil.tokenize("Buy MILK, then e-mail Bob2!"))
+                .containsExactly("buy", "milk", "then", "e", "mail", "bob2");
+    }
+
+    @Test
+    void emitsCjkUnigramsAndBigrams() {
+        assertThat(TokenUtil.tokenize("買牛奶")).containsExactly("買", "牛", "買牛", "奶", "牛奶");
+    }
+
+    @Test
+    void doesNotBridgeBigramsAcrossOtherCharacters() {
+        assertThat(TokenUtil.tokenize("牛 奶abc茶")).containsExactly("牛", "奶", "abc", "茶");
+    }
+
+    @Test
+    void handlesSupplementaryCodePoints() {
+        // U+20BB7 為 CJK 擴充 B 區字元(surrogate pair)
+        String rare = new String(Character.toChars(0x20BB7));
+        assertThat(TokenUtil.tokenize(rare + "家")).containsExactly(rare, "家", rare + "家");
+    }
+
+    @Test
+    void blankInputHasNoTokens() {
+        assertThat(TokenUtil.tokenize(null)).isEmpty();
+        assertThat(TokenUtil.tokenize("  ,. ")).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.paisley.todolist.web.todo.controller;
+
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 條件式 GET：單筆 ETag 與回應內容一致，列表 ETag 依實際查詢條件區分
+ */
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+@AutoConfigureMockMvc
+class TodoControllerETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void todoETagFollowsCachedResponse() throws Exception {
+        TodoCreateResponse todo = todoService.createTodo(TodoCreateRequest.builder().title("etag").completed("N").build());
+        String eTag = eTag(get("/api/todos/{id}", todo.getId()));
+
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\":\"Y\",\"version\":" + todo.getVersion() + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listETagEncodesFilterValues() throws Exception {
+        String open = eTag(get("/api/todos").param("completed", "N"));
+        String done = eTag(get("/api/todos").param("completed", "Y"));
+        String ranged = eTag(get("/api/todos").param("completed", "N").param("updatedFrom", "2020-01-01T00:00:00"));
+
+        assertThat(open).isNotEqualTo(done).isNotEqualTo(ranged);
+        assertThat(eTag(get("/api/todos").param("completed", "N"))).isEqualTo(open);
+        assertThat(eTag(get("/api/todos").param("completed", "\"|x"))).doesNotContain("\"|x");
+    }
+
+    private String eTag(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,215 @@
+package com.paisley.todolist.web.todo.controller;
+
+import com.paisley.todolist.support.StatementBudget;
+import com.paisley.todolist.support.StatementBudgetReport;
+import com.paisley.todolist.support.StatementCounter;
+import com.paisley.todolist.support.StatementCountingConfig;
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.service.TodoService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TodoController 各 endpoint 的 SQL 次數預算：超出即失敗(N+1、寫入前多餘的 SELECT 等)，
+ * 結果另輸出至 target/statement-budgets.csv
+ */
+// 統計計數器的背景校正會在量測區間插入查詢，測試期間停用
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+@AutoConfigureMockMvc
+@Import(StatementCountingConfig.class)
+class TodoControllerStatementBudgetTest {
+
+    private static final int SEED_SIZE = 30;
+    private static final StatementBudgetReport REPORT = new StatementBudgetReport();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private List<Long> ids;
+    // 每次 seed 的專屬檢索詞：其他測試批次刪除後留在索引內的舊 id 不會命中，檢索次數不受執行順序影響
+    private String seedTerm;
+
+    @BeforeEach
+    void seed() {
+        seedTerm = "seed" + System.nanoTime();
+        ids = IntStream.range(0, SEED_SIZE)
+                .mapToObj(i -> todoService.createTodo(TodoCreateRequest.builder()
+                        .title("budget " + seedTerm + " " + i).description("statement budget").completed("N").build()))
+                .map(TodoCreateResponse::getId)
+                .toList();
+        cacheManager.getCache(TodoService.TODO_CACHE).clear();
+    }
+
+    @AfterAll
+    static void writeReport() {
+        REPORT.write(Path.of("target", "statement-budgets.csv"));
+    }
+
+    @Test
+    void getTodos() throws Exception {
+        measure("GET /api/todos", StatementBudget.of(2, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos").param("size", "20")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void getTodosFiltered() throws Exception {
+        measure("GET /api/todos (completed, updated range)", StatementBudget.of(2, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos").param("size", "20").param("completed", "N")
+                                .param("updatedFrom", LocalDateTime.now().minusDays(1).toString()))
+                        .andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void getTodosNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/todos")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        measure("GET /api/todos (If-None-Match)", StatementBudget.of(1, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                        .andExpect(status().isNotModified()).andReturn());
+    }
+
+    @Test
+    void getTodoById() throws Exception {
+        measure("GET /api/todos/{id}", StatementBudget.of(1, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos/{id}", ids.get(0))).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void getTodoByIdCached() throws Exception {
+        mockMvc.perform(get("/api/todos/{id}", ids.get(0))).andExpect(status().isOk());
+        measure("GET /api/todos/{id} (cached)", StatementBudget.of(0, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos/{id}", ids.get(0))).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void exportTodos() throws Exception {
+        measure("GET /api/todos/export", StatementBudget.of(1, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos/export")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void searchTodos() throws Exception {
+        measure("GET /api/todos/search", StatementBudget.of(1, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos/search").param("q", seedTerm)).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void getStats() throws Exception {
+        measure("GET /api/todos/stats", StatementBudget.of(0, 0, 0, 0), () ->
+                mockMvc.perform(get("/api/todos/stats")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void createTodo() throws Exception {
+        // pooled sequence 每 50 筆才取號一次，預算含該次 SELECT
+        // 同步新增回傳已完成的 CompletableFuture，寫入於第一次 dispatch 內完成
+        measure("POST /api/todos", StatementBudget.of(1, 1, 0, 0), () -> {
+            MvcResult started = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"created\",\"completed\":\"N\"}"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+        });
+    }
+
+    @Test
+    void batch() throws Exception {
+        String operations = IntStream.range(0, 10).mapToObj(i -> "{\"op\":\"CREATE\",\"title\":\"batch " + i + "\"}")
+                .collect(Collectors.joining(","))
+                + "," + ids.subList(0, 10).stream().map(id -> "{\"op\":\"UPDATE\",\"id\":" + id + ",\"title\":\"batch updated\",\"completed\":\"Y\"}")
+                .collect(Collectors.joining(","))
+                + "," + ids.subList(10, 20).stream().map(id -> "{\"op\":\"DELETE\",\"id\":" + id + "}")
+                .collect(Collectors.joining(","));
+        // 30 筆操作：1 次 IN 查詢 + 取號，新增/更新/刪除各一次 JDBC batch
+        measure("POST /api/todos/batch", StatementBudget.of(2, 1, 1, 1), () ->
+                mockMvc.perform(post("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[" + operations + "]}")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void markCompleted() throws Exception {
+        String body = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+        measure("POST /api/todos/bulk/complete", StatementBudget.of(0, 0, 1, 0), () ->
+                mockMvc.perform(post("/api/todos/bulk/complete").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void markCompletedUpdatedBefore() throws Exception {
+        measure("POST /api/todos/bulk/complete-updated-before", StatementBudget.of(0, 0, 1, 0), () ->
+                mockMvc.perform(post("/api/todos/bulk/complete-updated-before")
+                                .param("before", LocalDateTime.now().plusMinutes(1).toString()))
+                        .andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void deleteCompleted() throws Exception {
+        measure("DELETE /api/todos/completed", StatementBudget.of(0, 0, 0, 1), () ->
+                mockMvc.perform(delete("/api/todos/completed")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void updateTodo() throws Exception {
+        measure("PUT /api/todos/{id}", StatementBudget.of(1, 0, 1, 0), () ->
+                mockMvc.perform(put("/api/todos/{id}", ids.get(0)).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"updated\",\"completed\":\"Y\"}")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void patchTodo() throws Exception {
+        measure("PATCH /api/todos/{id}", StatementBudget.of(0, 0, 1, 0), () ->
+                mockMvc.perform(patch("/api/todos/{id}", ids.get(0)).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\":\"Y\",\"version\":0}")).andExpect(status().isOk()).andReturn());
+    }
+
+    @Test
+    void deleteTodo() throws Exception {
+        measure("DELETE /api/todos/{id}", StatementBudget.of(0, 0, 0, 1), () ->
+                mockMvc.perform(delete("/api/todos/{id}", ids.get(0))).andExpect(status().isNoContent()).andReturn());
+    }
+
+    private void measure(String endpoint, StatementBudget budget, Call call) throws Exception {
+        statementCounter.reset();
+        call.perform();
+        StatementCounter.StatementCounts counts = statementCounter.snapshot();
+        REPORT.add(endpoint, counts, budget);
+        assertThat(budget.allows(counts))
+                .withFailMessage("%s exceeded %s with select=%d insert=%d update=%d delete=%d other=%d:%n%s",
+                        endpoint, budget, counts.select(), counts.insert(), counts.update(), counts.delete(), counts.other(),
+                        String.join(System.lineSeparator(), counts.statements()))
+                .isTrue();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        MvcResult perform() throws Exception;
+    }
+
+}
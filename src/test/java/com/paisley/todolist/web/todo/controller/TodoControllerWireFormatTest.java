@@ -0,0 +1,86 @@
+package com.paisley.todolist.web.todo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JSON / CBOR 內容協商：CBOR 以數值編碼 id 與時間，JSON 輸出不變；兩種格式的 ETag 不同
+ */
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+@AutoConfigureMockMvc
+class TodoControllerWireFormatTest {
+
+    private static final String DATE_TIME = "\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void cborUsesNativeNumbersAndJsonIsUnchanged() throws Exception {
+        TodoCreateResponse todo = todoService.createTodo(TodoCreateRequest.builder().title("wire").completed("N").build());
+
+        MockHttpServletResponse cbor = perform(todo.getId(), MediaType.APPLICATION_CBOR);
+        assertThat(cbor.getContentType()).startsWith(MediaType.APPLICATION_CBOR_VALUE);
+        JsonNode decoded = new CBORMapper().readTree(cbor.getContentAsByteArray());
+        assertThat(decoded.get("id").isIntegralNumber()).isTrue();
+        assertThat(decoded.get("id").longValue()).isEqualTo(todo.getId());
+        assertThat(decoded.get("createDate").isIntegralNumber()).isTrue();
+        assertThat(decoded.get("updateDate").isIntegralNumber()).isTrue();
+        assertThat(decoded.get("title").asText()).isEqualTo("wire");
+
+        MockHttpServletResponse json = perform(todo.getId(), MediaType.APPLICATION_JSON);
+        JsonNode parsed = new ObjectMapper().readTree(json.getContentAsString());
+        assertThat(parsed.get("id").isTextual()).isTrue();
+        assertThat(parsed.get("id").asText()).isEqualTo(String.valueOf(todo.getId()));
+        assertThat(parsed.get("createDate").asText()).matches(DATE_TIME);
+        assertThat(parsed.get("updateDate").asText()).matches(DATE_TIME);
+
+        assertThat(cbor.getHeader(HttpHeaders.ETAG)).endsWith("-cbor\"");
+        assertThat(json.getHeader(HttpHeaders.ETAG)).endsWith("-json\"");
+        assertThat(cbor.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void eTagOfOneFormatDoesNotValidateTheOther() throws Exception {
+        TodoCreateResponse todo = todoService.createTodo(TodoCreateRequest.builder().title("etag format").completed("N").build());
+        String jsonETag = perform(todo.getId(), MediaType.APPLICATION_JSON).getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified());
+
+        String listJson = mockMvc.perform(get("/api/todos")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String listCbor = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(listJson).endsWith("-json\"");
+        assertThat(listCbor).endsWith("-cbor\"");
+    }
+
+    private MockHttpServletResponse perform(Long id, MediaType accept) throws Exception {
+        return mockMvc.perform(get("/api/todos/{id}", id).accept(accept))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+}
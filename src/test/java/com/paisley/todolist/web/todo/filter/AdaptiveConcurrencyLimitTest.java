@@ -0,0 +1,100 @@
+package com.paisley.todolist.web.todo.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long WINDOW_MS = 1;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void rejectsBeyondLimitAndCountsRejections() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, WINDOW_MS, clock::get);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.getRejected()).isEqualTo(1);
+
+        limit.release(limit.now(), false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyStaysFlatUnderFullLoad() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, WINDOW_MS, clock::get);
+        for (int i = 0; i < 20; i++) {
+            window(limit, limit.getLimit(), 5, false);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 100, WINDOW_MS, clock::get);
+        for (int i = 0; i < 5; i++) {
+            window(limit, limit.getLimit(), 5, false);
+        }
+        int before = limit.getLimit();
+        for (int i = 0; i < 5; i++) {
+            window(limit, limit.getLimit(), 50, false);
+        }
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void backsOffOnDropsDownToMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, WINDOW_MS, clock::get);
+        window(limit, limit.getLimit(), 5, true);
+        assertThat(limit.getLimit()).isEqualTo(36);
+        for (int i = 0; i < 100; i++) {
+            window(limit, limit.getLimit(), 5, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void ignoredReleasesFreeTheSlotWithoutSampling() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, WINDOW_MS, clock::get);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 40; j++) {
+                assertThat(limit.tryAcquire()).isTrue();
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+            for (int j = 0; j < 40; j++) {
+                limit.ignore();
+            }
+        }
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(limit.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void keepsLimitWhenUnderused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 100, WINDOW_MS, clock::get);
+        for (int i = 0; i < 10; i++) {
+            window(limit, 10, 5, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(50);
+    }
+
+    // 一個視窗：concurrency 個請求同時進行 rttMillis(大於視窗長度)後歸還，累積滿 10 筆樣本時觸發上限更新
+    private void window(AdaptiveConcurrencyLimit limit, int concurrency, long rttMillis, boolean dropped) {
+        int acquired = 0;
+        long start = limit.now();
+        while (acquired < Math.max(concurrency, 10) && limit.tryAcquire()) {
+            acquired++;
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        for (int i = 0; i < acquired; i++) {
+            limit.release(start, dropped);
+        }
+    }
+}
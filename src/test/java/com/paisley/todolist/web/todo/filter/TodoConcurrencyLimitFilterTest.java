@@ -0,0 +1,84 @@
+package com.paisley.todolist.web.todo.filter;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoConcurrencyLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimit readLimit = new AdaptiveConcurrencyLimit(40, 4, 100, 1, clock::get);
+    private final AdaptiveConcurrencyLimit writeLimit = new AdaptiveConcurrencyLimit(20, 4, 100, 1, clock::get);
+    private final TodoConcurrencyLimitFilter filter = new TodoConcurrencyLimitFilter(readLimit, writeLimit,
+            HttpServletResponse.SC_SERVICE_UNAVAILABLE, 1, Set.of("/api/todos/changes"), Set.of(503, 504));
+
+    @Test
+    void dropStatusShrinksLimit() throws Exception {
+        window(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        assertThat(readLimit.getLimit()).isEqualTo(36);
+        assertThat(readLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    void otherServerErrorsDoNotShrinkLimit() throws Exception {
+        window(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+
+        assertThat(readLimit.getLimit()).isEqualTo(40);
+        assertThat(readLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    void exceptionReleasesSlotWithoutSample() {
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/todos"),
+                new MockHttpServletResponse(), chain)).isInstanceOf(IllegalStateException.class);
+        assertThat(writeLimit.getInFlight()).isZero();
+        assertThat(writeLimit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectsWhenLimitIsReached() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            readLimit.tryAcquire();
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/todos"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(readLimit.getRejected()).isEqualTo(1);
+    }
+
+    // 累積一個視窗的樣本(至少 10 筆)，最後一筆觸發上限更新
+    private void window(int status) throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/todos"), response, new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest request, ServletResponse response) {
+                    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+                    ((HttpServletResponse) response).setStatus(status);
+                }
+            });
+        }
+    }
+}
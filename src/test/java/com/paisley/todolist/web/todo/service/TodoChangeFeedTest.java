@@ -0,0 +1,191 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.paisley.todolist.web.todo.domain.TodoChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoChangeFeedTest {
+
+    private TodoChangeFeed feed;
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void replaysEventsAfterLastEventId() {
+        feed = new TodoChangeFeed(8, 4, 1, 3_600_000);
+        publish(3);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(feed.eventId(1), emitter);
+
+        await(() -> emitter.text().contains("id:" + feed.eventId(3) + "\n"));
+        assertThat(emitter.text())
+                .doesNotContain("id:" + feed.eventId(1) + "\n")
+                .contains("id:" + feed.eventId(2) + "\n")
+                .doesNotContain("RESET");
+    }
+
+    @Test
+    void resetsWhenLastEventIdIsOutOfRange() {
+        feed = new TodoChangeFeed(4, 16, 1, 3_600_000);
+        publish(6);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(feed.eventId(1), emitter);
+
+        await(() -> emitter.text().contains("event:RESET"));
+        assertThat(emitter.text()).contains("id:" + feed.eventId(6) + "\n").doesNotContain("event:CREATED");
+    }
+
+    @Test
+    void resetsWhenLastEventIdIsFromAnotherBootOrAhead() {
+        feed = new TodoChangeFeed(8, 4, 1, 3_600_000);
+        publish(2);
+
+        // 重啟前的 id、比目前序號還新的 id、舊格式純數字皆無法續傳
+        for (String lastEventId : List.of("zzzz-1", feed.eventId(99), "1")) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            feed.subscribe(lastEventId, emitter);
+
+            await(() -> emitter.text().contains("event:RESET"));
+            assertThat(emitter.text()).doesNotContain("event:CREATED");
+        }
+    }
+
+    @Test
+    void dropsSlowSubscriber() {
+        feed = new TodoChangeFeed(16, 2, 2, 3_600_000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter blocked = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.subscribe(null, blocked);
+        feed.subscribe(null, healthy);
+
+        // 第一筆卡在 send，之後只能再緩衝 2 筆；正常的訂閱者不受影響
+        for (long id = 1; id <= 5; id++) {
+            feed.publish(TodoChangeEvent.Type.CREATED, id);
+            String eventId = "id:" + feed.eventId(id) + "\n";
+            await(() -> healthy.text().contains(eventId));
+        }
+
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void heartbeatRemovesDisconnectedSubscriber() {
+        feed = new TodoChangeFeed(8, 4, 1, 20);
+        RecordingEmitter alive = new RecordingEmitter();
+        RecordingEmitter dead = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        feed.subscribe(null, alive);
+        feed.subscribe(null, dead);
+
+        await(() -> feed.subscriberCount() == 1);
+        await(() -> alive.text().contains(":heartbeat"));
+    }
+
+    @Test
+    void eventCarriesTodoIdSeparateFromEventId() throws IOException {
+        feed = new TodoChangeFeed(8, 4, 1, 3_600_000);
+        feed.publish(TodoChangeEvent.Type.UPDATED, 42L);
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(feed.eventId(0), emitter);
+
+        await(() -> emitter.text().contains("id:" + feed.eventId(1) + "\n"));
+        TodoChangeEvent event = emitter.events().get(0);
+        assertThat(event.getId()).isEqualTo(42L);
+        assertThat(event.getSequence()).isEqualTo(1);
+
+        // todo id 與其他回應相同：JSON 為字串，CBOR 為數值
+        JsonNode json = new ObjectMapper().readTree(new ObjectMapper().writeValueAsString(event));
+        assertThat(json.get("id").asText()).isEqualTo("42");
+        assertThat(json.get("id").isTextual()).isTrue();
+        CBORMapper cbor = new CBORMapper();
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(event)).get("id").isIntegralNumber()).isTrue();
+    }
+
+    private void publish(int count) {
+        for (long id = 1; id <= count; id++) {
+            feed.publish(TodoChangeEvent.Type.CREATED, id);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 記錄送出的 SSE 文字
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+        private final List<TodoChangeEvent> events = new ArrayList<>();
+
+        RecordingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder text = new StringBuilder();
+            synchronized (sent) {
+                builder.build().forEach(part -> {
+                    text.append(part.getData());
+                    if (part.getData() instanceof TodoChangeEvent event) events.add(event);
+                });
+                sent.add(text.toString());
+            }
+        }
+
+        List<TodoChangeEvent> events() {
+            synchronized (sent) {
+                return List.copyOf(events);
+            }
+        }
+
+        String text() {
+            synchronized (sent) {
+                return String.join("", sent);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.paisley.todolist.web.todo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoSearchIndexTest {
+
+    private final TodoSearchIndex index = new TodoSearchIndex();
+
+    @Test
+    void ranksTitleMatchesAndHigherTermFrequencyFirst() {
+        index.put(1L, "weekly report", null);
+        index.put(2L, "groceries", "report the report numbers");
+        index.put(3L, "groceries", "a report");
+        index.put(4L, "unrelated", "nothing here");
+
+        assertThat(index.search("report", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("report", 2)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void requiresAllTermsAndExpandsLastLatinTermAsPrefix() {
+        index.put(1L, "pay electricity bill", null);
+        index.put(2L, "pay rent", null);
+        index.put(3L, "electric guitar", null);
+
+        assertThat(index.search("pay elec", 10)).containsExactly(1L);
+        assertThat(index.search("elec", 10)).containsExactlyInAnyOrder(1L, 3L);
+        // 前綴只套用最後一個詞
+        assertThat(index.search("elec pay", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesCjkByBigramWithoutPrefixExpansion() {
+        index.put(1L, "買牛奶", null);
+        index.put(2L, "牛排", null);
+
+        assertThat(index.search("牛奶", 10)).containsExactly(1L);
+        assertThat(index.search("牛", 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void removeAndOverwriteDropOldTerms() {
+        index.put(1L, "old title", "old description");
+        index.put(2L, "old", null);
+        index.put(1L, "new title", null);
+        index.remove(2L);
+
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("new", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void mergeKeepsFieldsNotGivenAndIgnoresUnknownIds() {
+        index.put(1L, "title one", "first description");
+        index.merge(1L, "title two", null);
+        index.merge(9L, "ghost", null);
+
+        assertThat(index.search("first", 10)).containsExactly(1L);
+        assertThat(index.search("two", 10)).containsExactly(1L);
+        assertThat(index.search("one", 10)).isEmpty();
+        assertThat(index.search("ghost", 10)).isEmpty();
+    }
+
+    @Test
+    void concurrentMergesOfDifferentFieldsDoNotLoseUpdates() throws InterruptedException {
+        int rounds = 2_000;
+        index.put(1L, "t0", "d0");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        executor.submit(() -> {
+            start.await();
+            for (int i = 1; i <= rounds; i++) index.merge(1L, "t" + i, null);
+            return null;
+        });
+        executor.submit(() -> {
+            start.await();
+            for (int i = 1; i <= rounds; i++) index.merge(1L, null, "d" + i);
+            return null;
+        });
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(index.search("t" + rounds + " d" + rounds, 10)).containsExactly(1L);
+    }
+}
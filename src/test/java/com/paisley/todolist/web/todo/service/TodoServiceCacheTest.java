@@ -0,0 +1,57 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.domain.TodoPatchRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.interceptor.BeanFactoryCacheOperationSourceAdvisor;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * getTodoById 快取與交易的先後：快取 advisor 在外層，evict 發生在 commit 之後
+ */
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+class TodoServiceCacheTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void cacheAdvisorWrapsTransactionAdvisor() {
+        Advisor[] advisors = ((Advised) todoService).getAdvisors();
+        int cacheOrder = order(advisors, BeanFactoryCacheOperationSourceAdvisor.class);
+        int transactionOrder = order(advisors, BeanFactoryTransactionAttributeSourceAdvisor.class);
+
+        // 同 order 時先後取決於註冊順序，須明確較小(外層)
+        assertThat(cacheOrder).isLessThan(transactionOrder);
+    }
+
+    @Test
+    void patchIsVisibleThroughCacheAfterCommit() {
+        TodoCreateResponse created = todoService.createTodo(TodoCreateRequest.builder().title("cached").completed("N").build());
+        assertThat(todoService.getTodoById(created.getId())).contains(created);
+
+        todoService.patchTodo(created.getId(), TodoPatchRequest.builder().completed("Y").version(created.getVersion()).build());
+
+        assertThat(todoService.getTodoById(created.getId()))
+                .hasValueSatisfying(todo -> assertThat(todo.getCompleted()).isEqualTo("Y"));
+    }
+
+    private static int order(Advisor[] advisors, Class<? extends Ordered> type) {
+        return Arrays.stream(advisors)
+                .filter(type::isInstance)
+                .map(type::cast)
+                .findFirst()
+                .orElseThrow()
+                .getOrder();
+    }
+}
@@ -0,0 +1,117 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import com.paisley.todolist.web.todo.domain.TodoPageRequest;
+import com.paisley.todolist.web.todo.domain.TodoPageResponse;
+import com.paisley.todolist.web.todo.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset 分頁：各篩選組合逐頁走完，結果不重複、不遺漏且依游標鍵排序
+ */
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+class TodoServicePagingTest {
+
+    // 與其他測試資料錯開的更新日期區間
+    private static final LocalDateTime BASE = LocalDateTime.of(2001, 2, 3, 4, 5, 6);
+
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private List<Todo> seeded;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAll(todoRepository.findAll().stream()
+                .filter(todo -> todo.getUpdateDate().getYear() == BASE.getYear()).toList());
+        // 更新日期刻意與 id 順序相反並有重複，驗證 (updateDate, id) 游標的同值處理
+        seeded = todoRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> Todo.builder()
+                        .title("paging " + i)
+                        .completed(i % 3 == 0 ? "Y" : "N")
+                        .createDate(BASE)
+                        .updateDate(BASE.plusMinutes((25 - i) / 2).plusNanos(123_000))
+                        .build())
+                .toList());
+    }
+
+    @Test
+    void pagesByUpdateDateRange() {
+        List<TodoCreateResponse> items = walk(TodoPageRequest.builder()
+                .updatedFrom(BASE).updatedTo(BASE.plusDays(1)).size(4).build());
+
+        assertThat(items).extracting(TodoCreateResponse::getId)
+                .containsExactlyElementsOf(expected(null));
+    }
+
+    @Test
+    void pagesByCompletedAndUpdateDate() {
+        List<TodoCreateResponse> items = walk(TodoPageRequest.builder()
+                .completed("Y").updatedFrom(BASE).updatedTo(BASE.plusDays(1)).size(3).build());
+
+        assertThat(items).extracting(TodoCreateResponse::getId)
+                .containsExactlyElementsOf(expected("Y"));
+    }
+
+    @Test
+    void pagesByOpenEndedUpdateDate() {
+        List<TodoCreateResponse> items = walk(TodoPageRequest.builder()
+                .updatedTo(BASE.plusDays(1)).size(5).build());
+
+        assertThat(items).extracting(TodoCreateResponse::getId)
+                .containsSubsequence(expected(null));
+    }
+
+    @Test
+    void pagesByCompletedInIdOrder() {
+        List<Long> ids = walk(TodoPageRequest.builder().completed("N").size(7).build()).stream()
+                .map(TodoCreateResponse::getId).toList();
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates()
+                .containsAll(seeded.stream().filter(todo -> "N".equals(todo.getCompleted())).map(Todo::getId).toList());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> todoService.getTodos(TodoPageRequest.builder().cursor("abc").build()))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> todoService.getTodos(TodoPageRequest.builder().cursor("42").updatedFrom(BASE).build()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private List<TodoCreateResponse> walk(TodoPageRequest request) {
+        List<TodoCreateResponse> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            request.setCursor(cursor);
+            TodoPageResponse page = todoService.getTodos(request);
+            items.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return items;
+    }
+
+    private List<Long> expected(String completed) {
+        return seeded.stream()
+                .filter(todo -> completed == null || completed.equals(todo.getCompleted()))
+                .sorted(Comparator.comparing(Todo::getUpdateDate).thenComparing(Todo::getId))
+                .map(Todo::getId)
+                .toList();
+    }
+}
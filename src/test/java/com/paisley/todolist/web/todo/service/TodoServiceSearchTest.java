@@ -0,0 +1,71 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.web.todo.domain.TodoBatchOperation;
+import com.paisley.todolist.web.todo.domain.TodoBatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 全文索引與交易結果一致：rollback 不進索引，批次刪除留下的 id 不佔用查詢筆數
+ */
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+class TodoServiceSearchTest {
+
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Test
+    void rolledBackBatchIsNotIndexed() {
+        TodoCreateResponse updated = todoService.createTodo(TodoCreateRequest.builder().title("rollbackupdated").build());
+        TodoCreateResponse deleted = todoService.createTodo(TodoCreateRequest.builder().title("rollbackdeleted").build());
+        // title 超過欄位長度，flush 時失敗並 rollback 整個批次
+        assertThatThrownBy(() -> todoService.batch(TodoBatchRequest.builder().operations(List.of(
+                TodoBatchOperation.builder().op(TodoBatchOperation.Type.CREATE).title("rollbackcreated").build(),
+                TodoBatchOperation.builder().op(TodoBatchOperation.Type.DELETE).id(deleted.getId()).build(),
+                TodoBatchOperation.builder().op(TodoBatchOperation.Type.UPDATE).id(updated.getId())
+                        .title("rollbackrenamed " + "x".repeat(300)).build())).build()))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(searchIndex.search("rollbackcreated", 10)).isEmpty();
+        assertThat(searchIndex.search("rollbackrenamed", 10)).isEmpty();
+        assertThat(searchIndex.search("rollbackupdated", 10)).containsExactly(updated.getId());
+        assertThat(searchIndex.search("rollbackdeleted", 10)).containsExactly(deleted.getId());
+    }
+
+    @Test
+    void deletedIdsDoNotCountTowardLimit() {
+        List<Long> ids = IntStream.range(0, 6)
+                .mapToObj(i -> todoService.createTodo(TodoCreateRequest.builder()
+                        .title("stalesearch").completed(i < 4 ? "Y" : "N").build()).getId())
+                .toList();
+        // 批次刪除不經過索引，已完成的 4 筆仍留在索引內
+        todoService.deleteCompleted();
+
+        assertThat(todoService.searchTodos("stalesearch", 2)).extracting(TodoCreateResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(ids.subList(4, 6));
+    }
+
+    @Test
+    void manyTiedStaleIdsStillFillLimit() {
+        List<Long> ids = IntStream.range(0, 10)
+                .mapToObj(i -> todoService.createTodo(TodoCreateRequest.builder()
+                        .title("tiedstale").completed(i < 8 ? "Y" : "N").build()).getId())
+                .toList();
+        todoService.deleteCompleted();
+
+        // 同分的過期 id 每輪未必全被取到，重查時加倍取數仍能在輪數內補足
+        assertThat(todoService.searchTodos("tiedstale", 2)).extracting(TodoCreateResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(ids.subList(8, 10));
+    }
+}
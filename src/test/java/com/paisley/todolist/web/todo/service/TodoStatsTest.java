@@ -0,0 +1,141 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.web.todo.domain.TodoBatchOperation;
+import com.paisley.todolist.web.todo.domain.TodoBatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoPatchRequest;
+import com.paisley.todolist.web.todo.domain.TodoStatsResponse;
+import com.paisley.todolist.web.todo.domain.TodoUpdateRequest;
+import com.paisley.todolist.web.todo.repository.TodoCounts;
+import com.paisley.todolist.web.todo.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 統計計數器與資料庫彙總的一致性：已知原狀態的異動立即正確，其餘於校正後正確
+ */
+@SpringBootTest(properties = {"todo.stats.reconcile-interval-ms=3600000", "todo.stats.stale-reconcile-delay-ms=3600000"})
+class TodoStatsTest {
+
+    @Autowired
+    private TodoService todoService;
+    @MockitoSpyBean
+    private TodoStats stats;
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void reconcile() {
+        // 其他測試 context 共用同一個 H2，先對齊
+        assertThat(stats.reconcile()).isTrue();
+        assertThat(stats.isStale()).isFalse();
+    }
+
+    @Test
+    void createUpdateAndBatchAreCountedIncrementally() {
+        TodoStatsResponse before = todoService.getStats();
+        Long open = create("N");
+        Long done = create("Y");
+        todoService.updateTodo(open, TodoUpdateRequest.builder().title("stats").completed("Y").build());
+        todoService.batch(TodoBatchRequest.builder().operations(List.of(
+                TodoBatchOperation.builder().op(TodoBatchOperation.Type.CREATE).title("stats batch").build(),
+                TodoBatchOperation.builder().op(TodoBatchOperation.Type.UPDATE).id(done).title("stats").completed("N").build(),
+                TodoBatchOperation.builder().op(TodoBatchOperation.Type.DELETE).id(open).build())).build());
+
+        TodoStatsResponse after = todoService.getStats();
+        assertThat(after.getTotal() - before.getTotal()).isEqualTo(2);
+        assertThat(after.getCreatedToday() - before.getCreatedToday()).isEqualTo(2);
+        assertMatchesDatabase(after);
+    }
+
+    @Test
+    void writesWithUnknownPriorStateAreCorrectedByReconcile() {
+        TodoStatsResponse before = todoService.getStats();
+        Long patched = create("N");
+        Long deleted = create("Y");
+        todoService.patchTodo(patched, TodoPatchRequest.builder().completed("Y").version(0L).build());
+        todoService.deleteTodoById(deleted);
+        todoService.markCompleted(List.of(create("N")));
+
+        // 已知的總數/完成數差額立即套用，其餘留待校正
+        TodoStatsResponse applied = todoService.getStats();
+        assertThat(applied.getTotal() - before.getTotal()).isEqualTo(2);
+        assertThat(applied.getCreatedToday() - before.getCreatedToday()).isEqualTo(3);
+        assertThat(stats.isStale()).isTrue();
+
+        assertThat(stats.reconcile()).isTrue();
+        assertThat(stats.isStale()).isFalse();
+        assertMatchesDatabase(todoService.getStats());
+    }
+
+    @Test
+    void reconcileRacingAnUncommittedWriteIsDeferred() throws Exception {
+        TodoStatsResponse before = todoService.getStats();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            create("N");
+            // 交易尚未套用增量，另一執行緒的校正不可採用這段期間的查詢結果
+            boolean reconciled = CompletableFuture.supplyAsync(stats::reconcile).join();
+            assertThat(reconciled).isFalse();
+            assertThat(stats.isStale()).isTrue();
+        });
+
+        TodoStatsResponse after = todoService.getStats();
+        assertThat(after.getTotal() - before.getTotal()).isEqualTo(1);
+        assertMatchesDatabase(after);
+        assertThat(CompletableFuture.supplyAsync(stats::reconcile).get(10, TimeUnit.SECONDS)).isTrue();
+        assertMatchesDatabase(todoService.getStats());
+    }
+
+    @Test
+    void reconcileBetweenSaveAndStatsCallDoesNotDoubleCount() {
+        Long open = create("N");
+        TodoStatsResponse before = todoService.getStats();
+        // 在寫入與統計增量之間插入一次校正：寫入若已 commit，校正會看到新資料，增量不可再計入一次
+        doAnswer(invocation -> {
+            assertThat(CompletableFuture.supplyAsync(stats::reconcile).get(10, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        }).when(stats).created(any());
+        doAnswer(invocation -> {
+            assertThat(CompletableFuture.supplyAsync(stats::reconcile).get(10, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        }).when(stats).updated(any(), any(), any());
+
+        create("Y");
+        todoService.updateTodo(open, TodoUpdateRequest.builder().title("stats").completed("Y").build());
+
+        TodoStatsResponse after = todoService.getStats();
+        assertThat(after.getTotal() - before.getTotal()).isEqualTo(1);
+        assertThat(after.getCompleted() - before.getCompleted()).isEqualTo(2);
+        assertMatchesDatabase(after);
+    }
+
+    private Long create(String completed) {
+        return todoService.createTodo(TodoCreateRequest.builder().title("stats").completed(completed).build()).getId();
+    }
+
+    private void assertMatchesDatabase(TodoStatsResponse actual) {
+        TodoCounts expected = todoRepository.countStats(LocalDate.now().atStartOfDay());
+        assertThat(actual.getTotal()).isEqualTo(expected.getTotal());
+        assertThat(actual.getCompleted()).isEqualTo(expected.getCompleted());
+        assertThat(actual.getOpen()).isEqualTo(expected.getTotal() - expected.getCompleted());
+        assertThat(actual.getCreatedToday()).isEqualTo(expected.getCreatedToday());
+        assertThat(actual.getUpdatedToday()).isEqualTo(expected.getUpdatedToday());
+    }
+}
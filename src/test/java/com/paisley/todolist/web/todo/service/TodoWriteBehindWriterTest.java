@@ -0,0 +1,76 @@
+package com.paisley.todolist.web.todo.service;
+
+import com.paisley.todolist.dao.model.Todo;
+import com.paisley.todolist.web.todo.domain.TodoCreateRequest;
+import com.paisley.todolist.web.todo.domain.TodoCreateResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "todo.write-behind.enabled=true",
+        "todo.write-behind.max-delay-ms=500",
+        "todo.stats.reconcile-interval-ms=3600000",
+        "todo.stats.stale-reconcile-delay-ms=3600000"})
+class TodoWriteBehindWriterTest {
+
+    @Autowired
+    private TodoWriteBehindWriter writer;
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void enqueuedCreateIsCachedLikeSynchronousCreate() {
+        TodoCreateResponse queued = todoService.enqueueTodo(TodoCreateRequest.builder().title("queued").completed("N").build())
+                .join();
+        TodoCreateResponse direct = todoService.createTodo(TodoCreateRequest.builder().title("direct").completed("N").build());
+
+        assertThat(cacheManager.getCache(TodoService.TODO_CACHE).get(queued.getId(), TodoCreateResponse.class))
+                .isEqualTo(queued);
+        assertThat(cacheManager.getCache(TodoService.TODO_CACHE).get(direct.getId(), TodoCreateResponse.class))
+                .isEqualTo(direct);
+    }
+
+    @Test
+    void failingRowOnlyFailsItsOwnFuture() {
+        // max-delay 500ms，三筆落在同一批；中間那筆超過欄位長度
+        CompletableFuture<Todo> first = writer.submit(todo("first"));
+        CompletableFuture<Todo> broken = writer.submit(todo("x".repeat(300)));
+        CompletableFuture<Todo> last = writer.submit(todo("last"));
+
+        assertThat(first).succeedsWithin(10, TimeUnit.SECONDS).extracting(Todo::getId).isNotNull();
+        assertThat(last).succeedsWithin(10, TimeUnit.SECONDS).extracting(Todo::getId).isNotNull();
+        assertThat(broken).failsWithin(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DirtiesContext
+    void stopCompletesEveryAcceptedFuture() throws InterruptedException {
+        CompletableFuture<Todo> accepted = writer.submit(todo("before stop"));
+        writer.stop();
+
+        assertThat(accepted).isDone();
+        assertThatThrownBy(() -> writer.submit(todo("after stop"))).isInstanceOf(TaskRejectedException.class);
+    }
+
+    private static Todo todo(String title) {
+        return Todo.builder()
+                .title(title)
+                .completed("N")
+                .createDate(LocalDateTime.now())
+                .updateDate(LocalDateTime.now())
+                .build();
+    }
+}